@@ -81,7 +81,9 @@ public interface OvsdbClient {
      * ovsdb <a href="http://tools.ietf.org/html/draft-pfaff-ovsdb-proto-04#section-4.1.5">monitor</a> operation.
      * @param monitorRequests represents what needs to be monitored
      * @param monitorHandle  A client specified monitor handle. This handle is used to later cancel
-     *                       ({@link #cancelMonitor(MonitorHandle)}) the monitor.
+     *                       ({@link #cancelMonitor(MonitorHandle)}) the monitor. A {@link ResumableMonitorHandle}
+     *                       monitored again, e.g. after a reconnect, only receives the changes since the last
+     *                       update it got.
      * @param callback receives the monitor response
      */
     <E extends TableSchema<E>> TableUpdates monitor(DatabaseSchema schema,
@@ -103,6 +105,16 @@ public interface OvsdbClient {
                                                     MonitorCallBack callback,
                                                     int timeout);
 
+    /**
+     * ovsdb monitor_cond_change operation: replaces the conditions of a conditional monitor, without
+     * cancelling it. Rows that start matching are then reported as inserted, rows that stop matching as
+     * deleted.
+     * @param handler Handle of the monitor, which must have been created with conditions
+     * @param monitorRequests the new conditions ({@link MonitorRequest#getWhere()}) of each table
+     * @return true if the conditions were changed
+     */
+    ListenableFuture<Boolean> changeMonitorConditions(MonitorHandle handler, List<MonitorRequest> monitorRequests);
+
     /**
      * Cancels an existing monitor method.
      * @param handler Handle identifying a specific monitor request that is being cancelled.
@@ -157,6 +169,37 @@ public interface OvsdbClient {
 
     OvsdbConnectionInfo getConnectionInfo();
 
+    /**
+     * Returns the number of requests of this connection waiting for its channel to become writable.
+     */
+    int getQueuedRequests();
+
+    /**
+     * Returns the number of bytes written to the channel of this connection but not yet sent to the socket.
+     */
+    long getOutboundBytes();
+
+    /**
+     * Returns the number of messages received on this connection waiting to be processed, 0 when they are
+     * processed on the IO thread (ovsdb-update-dispatch-threads set to 0).
+     */
+    int getDispatchQueueDepth();
+
+    /**
+     * Returns the highest number of received messages that were waiting to be processed at once.
+     */
+    int getPeakDispatchQueueDepth();
+
+    /**
+     * Returns whether reading from this connection is suspended until its pending messages are worked down.
+     */
+    boolean isReadSuspended();
+
+    /**
+     * Returns the number of received messages processed off the IO thread.
+     */
+    long getDispatchedMessages();
+
     boolean isActive();
 
     void disconnect();
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
+
+/**
+ * Monitor handle that allows a monitor to be resumed from where it stopped, using the monitor_cond_since
+ * method of RFC 7047bis.
+ *
+ * <p>The handle tracks the id of the last transaction received and the rows known so far. Monitoring
+ * again with the same handle, e.g. on a new connection after the switch flapped, only requests the changes
+ * since that transaction. When the server cannot provide them, it sends the whole database again; rows
+ * known to the handle but missing from it are then reported as deleted, so the callback sees the same
+ * updates either way. Servers not supporting monitor_cond_since are monitored as with a plain handle.
+ */
+public class ResumableMonitorHandle extends MonitorHandle {
+
+    /**
+     * Transaction id asking for all the rows.
+     */
+    public static final String NO_TRANSACTION_ID = "00000000-0000-0000-0000-000000000000";
+
+    private static final long serialVersionUID = 1L;
+
+    private String lastTransactionId = NO_TRANSACTION_ID;
+    // Known rows, by table name
+    private transient Map<String, Map<UUID, Row>> rows;
+
+    public ResumableMonitorHandle(String id) {
+        super(id);
+    }
+
+    public synchronized String getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    /**
+     * Applies the reply of a monitor_cond_since request, {@code [<found>, <last-txn-id>, <table-updates2>]}.
+     *
+     * @return the updates, in the old/new format
+     */
+    public synchronized TableUpdates applyMonitorReply(JsonNode reply, DatabaseSchema dbSchema) {
+        boolean found = reply.get(0).asBoolean();
+        Map<String, Map<UUID, Row>> previousRows = rows();
+        if (!found) {
+            rows = new HashMap<>();
+        }
+        TableUpdates updates = applyUpdates(reply.get(2), dbSchema, reply.get(1).asText());
+        if (!found) {
+            reportDeletedRows(previousRows, updates);
+        }
+        return updates;
+    }
+
+    /**
+     * Applies the table updates of an update3 notification or a monitor_cond_since reply.
+     *
+     * @param tableUpdates the {@code <table-updates2>} object
+     * @param lastTransactionId the id of the transaction the updates bring the rows up to
+     * @return the updates, in the old/new format
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public synchronized TableUpdates applyUpdates(JsonNode tableUpdates, DatabaseSchema dbSchema,
+            String lastTransactionId) {
+        Map<String, TableUpdate> tableUpdateMap = new HashMap<>();
+        if (tableUpdates != null) {
+            for (Iterator<Map.Entry<String, JsonNode>> itr = tableUpdates.fields(); itr.hasNext();) {
+                Map.Entry<String, JsonNode> entry = itr.next();
+                if (dbSchema.hasTable(entry.getKey())) {
+                    TableSchema table = dbSchema.table(entry.getKey(), TableSchema.class);
+                    Map tableRows = rows().computeIfAbsent(entry.getKey(), name -> new HashMap<>());
+                    tableUpdateMap.put(entry.getKey(), table.updates2FromJson(entry.getValue(), tableRows));
+                }
+            }
+        }
+        if (lastTransactionId != null) {
+            this.lastTransactionId = lastTransactionId;
+        }
+        return new TableUpdates(tableUpdateMap);
+    }
+
+    /**
+     * Applies the table updates of an update2 or update3 notification straight from a token stream, see
+     * {@link #applyUpdates(JsonNode, DatabaseSchema, String)}. The parser must be positioned on the start of
+     * the {@code <table-updates2>} object; updates of tables unknown to the schema are skipped.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public synchronized TableUpdates applyUpdates(JsonParser parser, DatabaseSchema dbSchema,
+            String lastTransactionId) throws IOException {
+        Map<String, TableUpdate> tableUpdateMap = new HashMap<>();
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected table updates, got " + parser.getCurrentToken());
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String tableName = parser.getCurrentName();
+            parser.nextToken();
+            if (dbSchema.hasTable(tableName)) {
+                TableSchema table = dbSchema.table(tableName, TableSchema.class);
+                Map tableRows = rows().computeIfAbsent(tableName, name -> new HashMap<>());
+                tableUpdateMap.put(tableName, table.updates2FromJson(parser, tableRows));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (lastTransactionId != null) {
+            this.lastTransactionId = lastTransactionId;
+        }
+        return new TableUpdates(tableUpdateMap);
+    }
+
+    /**
+     * Forgets the rows and the last transaction, so that the next monitor request asks for all the rows.
+     */
+    public synchronized void reset() {
+        lastTransactionId = NO_TRANSACTION_ID;
+        rows = null;
+    }
+
+    private Map<String, Map<UUID, Row>> rows() {
+        if (rows == null) {
+            rows = new HashMap<>();
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void reportDeletedRows(Map<String, Map<UUID, Row>> previousRows, TableUpdates updates) {
+        for (Map.Entry<String, Map<UUID, Row>> table : previousRows.entrySet()) {
+            Map<UUID, Row> currentRows = rows().getOrDefault(table.getKey(), new HashMap<>());
+            for (Map.Entry<UUID, Row> row : table.getValue().entrySet()) {
+                if (!currentRows.containsKey(row.getKey())) {
+                    updates.getUpdates().computeIfAbsent(table.getKey(), name -> new TableUpdate<>())
+                            .addRow(row.getKey(), row.getValue(), null);
+                }
+            }
+        }
+    }
+}
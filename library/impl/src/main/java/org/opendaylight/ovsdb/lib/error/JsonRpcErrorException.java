@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.error;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * This exception fails the future of a request the peer replied to with a JSON-RPC error.
+ */
+public class JsonRpcErrorException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private static final String UNKNOWN_METHOD = "unknown method";
+
+    private final transient JsonNode error;
+
+    public JsonRpcErrorException(String method, JsonNode error) {
+        super("Error reply to " + method + ": " + error);
+        this.error = error;
+    }
+
+    /**
+     * Returns the "error" member of the reply.
+     */
+    public JsonNode getError() {
+        return error;
+    }
+
+    /**
+     * Returns whether the peer does not know the method of the request: ovsdb-server replies with an
+     * "unknown method" error, as a string or as the "error" member of an error object.
+     */
+    public boolean isUnknownMethod() {
+        JsonNode text = error.isObject() ? error.get("error") : error;
+        return text != null && UNKNOWN_METHOD.equals(text.asText());
+    }
+}
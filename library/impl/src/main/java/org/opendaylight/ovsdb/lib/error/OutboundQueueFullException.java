@@ -0,0 +1,19 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.error;
+
+/**
+ * This exception is thrown when a request cannot be sent because too many requests are already
+ * waiting for the connection to drain its outbound buffer.
+ */
+public class OutboundQueueFullException extends RuntimeException {
+    public OutboundQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2017 Red Hat, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the Netty event loop groups and channel classes used by the OVSDB connections, either
+ * for the native epoll transport or for NIO. Epoll is only used when it was asked for and the
+ * native library can be loaded on this platform; otherwise NIO is used.
+ */
+final class EventLoopGroups {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventLoopGroups.class);
+
+    private EventLoopGroups() {
+    }
+
+    /**
+     * Checks whether the native epoll transport can be used.
+     *
+     * @param requested whether epoll was configured
+     * @return true if epoll was configured and is available
+     */
+    static boolean useEpoll(boolean requested) {
+        if (!requested) {
+            return false;
+        }
+        try {
+            if (Epoll.isAvailable()) {
+                return true;
+            }
+            LOG.warn("Native epoll transport is not available, falling back to NIO",
+                    Epoll.unavailabilityCause());
+        } catch (LinkageError e) {
+            LOG.warn("Native epoll transport is not installed, falling back to NIO", e);
+        }
+        return false;
+    }
+
+    /**
+     * Creates an event loop group.
+     *
+     * @param threads number of threads, 0 for the Netty default (twice the number of cores)
+     * @param name prefix of the thread names
+     * @param epoll true to create an epoll group, see {@link #useEpoll(boolean)}
+     */
+    static EventLoopGroup newGroup(int threads, String name, boolean epoll) {
+        DefaultThreadFactory threadFactory = new DefaultThreadFactory(name);
+        return epoll ? new EpollEventLoopGroup(threads, threadFactory)
+                : new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    static Class<? extends SocketChannel> socketChannelClass(boolean epoll) {
+        return epoll ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    static Class<? extends ServerSocketChannel> serverSocketChannelClass(boolean epoll) {
+        return epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+}
@@ -8,6 +8,8 @@
 
 package org.opendaylight.ovsdb.lib.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Function;
@@ -15,10 +17,13 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.channel.Channel;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -31,6 +36,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import org.opendaylight.ovsdb.lib.EchoServiceCallbackFilters;
 import org.opendaylight.ovsdb.lib.LockAquisitionCallback;
 import org.opendaylight.ovsdb.lib.LockStolenCallback;
@@ -40,7 +46,11 @@ import org.opendaylight.ovsdb.lib.OvsdbClient;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.ConnectionType;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
+import org.opendaylight.ovsdb.lib.ResumableMonitorHandle;
+import org.opendaylight.ovsdb.lib.error.JsonRpcErrorException;
 import org.opendaylight.ovsdb.lib.error.ParsingException;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcEndpoint;
+import org.opendaylight.ovsdb.lib.jsonrpc.SerialDispatcher;
 import org.opendaylight.ovsdb.lib.message.MonitorRequest;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
 import org.opendaylight.ovsdb.lib.message.TableUpdate;
@@ -48,10 +58,12 @@ import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.message.TransactBuilder;
 import org.opendaylight.ovsdb.lib.message.UpdateNotification;
 import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UuidInterner;
 import org.opendaylight.ovsdb.lib.operations.Operation;
 import org.opendaylight.ovsdb.lib.operations.OperationResult;
 import org.opendaylight.ovsdb.lib.operations.TransactionBuilder;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchemaRegistry;
 import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
 import org.opendaylight.ovsdb.lib.schema.TableSchema;
 import org.opendaylight.ovsdb.lib.schema.typed.TypedBaseTable;
@@ -66,6 +78,8 @@ public class OvsdbClientImpl implements OvsdbClient {
     private static final Logger LOG = LoggerFactory.getLogger(OvsdbClientImpl.class);
     private ExecutorService executorService;
     private OvsdbRPC rpc;
+    private JsonRpcEndpoint endpoint;
+    private SerialDispatcher dispatcher;
     private Map<String, DatabaseSchema> schemas = new HashMap<>();
     private Map<String, CallbackContext> monitorCallbacks = new HashMap<>();
     private OvsdbRPC.Callback rpcCallback;
@@ -73,6 +87,20 @@ public class OvsdbClientImpl implements OvsdbClient {
     private Channel channel;
     private boolean isConnectionPublished;
     private static final int NO_TIMEOUT = -1;
+    private static volatile boolean streamingUpdates = false;
+    private static volatile boolean monitorUpdate2 = false;
+    private static volatile boolean skipKnownSchemas = false;
+    private static volatile boolean internUuids = false;
+    private static volatile int parallelDecodeThreshold = 0;
+    private static volatile long transactCoalescingWindow = 0;
+    private static volatile int transactCoalescingMaxOperations = 256;
+    // Intern table of the UUIDs decoded for this connection, if enabled when connecting
+    private final UuidInterner uuidInterner = internUuids ? new UuidInterner() : null;
+    // Merges the transactions of this connection, if enabled when connecting
+    private final TransactCoalescer transactCoalescer = transactCoalescingWindow > 0
+        ? new TransactCoalescer(this::transactNow, transactCoalescingWindow, transactCoalescingMaxOperations) : null;
+    // Cleared when the server turns out not to know monitor_cond, so that it is not asked again
+    private volatile boolean monitorCondSupported = true;
 
     private static final ThreadFactory THREAD_FACTORY_SSL =
         new ThreadFactoryBuilder().setNameFormat("OVSDB-PassiveConnection-SSL-%d").build();
@@ -133,11 +161,31 @@ public class OvsdbClientImpl implements OvsdbClient {
                         LOG.info("callback received with context {}, but no known handler. Ignoring!", key);
                         return;
                     }
-                    TableUpdates updates = transformingCallback(updateNotification.getUpdates(),
-                            callbackContext.schema);
+                    TableUpdates updates;
+                    if (updateNotification.getUpdatesParser() != null) {
+                        try {
+                            updates = transformingCallback(updateNotification.getUpdatesParser(),
+                                    callbackContext.schema);
+                        } catch (IOException e) {
+                            LOG.error("Failed to decode the updates of {}", key, e);
+                            return;
+                        }
+                    } else {
+                        updates = transformingCallback(updateNotification.getUpdates(), callbackContext.schema);
+                    }
                     monitorCallBack.update(updates, callbackContext.schema);
                 }
 
+                @Override
+                public void update2(Object node, UpdateNotification updateNotification) {
+                    applyUpdates2(updateNotification);
+                }
+
+                @Override
+                public void update3(Object node, UpdateNotification updateNotification) {
+                    applyUpdates2(updateNotification);
+                }
+
                 @Override
                 public void locked(Object node, List<String> ids) {
 
@@ -154,9 +202,44 @@ public class OvsdbClientImpl implements OvsdbClient {
     }
 
 
+    /*
+     * update2 and update3 only carry the changed columns of the modified rows, they are applied to the rows
+     * tracked for the monitor.
+     */
+    private void applyUpdates2(UpdateNotification updateNotification) {
+        Object key = updateNotification.getContext();
+        CallbackContext callbackContext = monitorCallbacks.get(key);
+        if (callbackContext == null || callbackContext.monitorCallBack == null || callbackContext.rows == null) {
+            LOG.info("callback received with context {}, but no known handler. Ignoring!", key);
+            return;
+        }
+        TableUpdates updates;
+        try (UuidInterner.Scope scope = UuidInterner.enter(uuidInterner)) {
+            if (updateNotification.getUpdatesParser() != null) {
+                updates = callbackContext.rows.applyUpdates(updateNotification.getUpdatesParser(),
+                        callbackContext.schema, updateNotification.getLastTransactionId());
+            } else {
+                updates = callbackContext.rows.applyUpdates(updateNotification.getUpdates(),
+                        callbackContext.schema, updateNotification.getLastTransactionId());
+            }
+        } catch (IOException e) {
+            LOG.error("Failed to decode the updates of {}", key, e);
+            return;
+        }
+        callbackContext.monitorCallBack.update(updates, callbackContext.schema);
+    }
+
     protected TableUpdates transformingCallback(JsonNode tableUpdatesJson, DatabaseSchema dbSchema) {
         //todo(ashwin): we should move all the JSON parsing logic to a utility class
-        if (tableUpdatesJson instanceof ObjectNode) {
+        if (!(tableUpdatesJson instanceof ObjectNode)) {
+            return null;
+        }
+        int threshold = parallelDecodeThreshold;
+        if (threshold > 0 && ParallelUpdatesDecoder.rowCount(tableUpdatesJson) >= threshold) {
+            return ParallelUpdatesDecoder.decode(tableUpdatesJson, this.schemas.get(dbSchema.getName()),
+                uuidInterner, ParallelUpdatesDecoder.ROWS_PER_TASK);
+        }
+        try (UuidInterner.Scope scope = UuidInterner.enter(uuidInterner)) {
             Map<String, TableUpdate> tableUpdateMap = new HashMap<>();
             ObjectNode updatesJson = (ObjectNode) tableUpdatesJson;
             for (Iterator<Map.Entry<String,JsonNode>> itr = updatesJson.fields(); itr.hasNext();) {
@@ -169,12 +252,113 @@ public class OvsdbClientImpl implements OvsdbClient {
             }
             return new TableUpdates(tableUpdateMap);
         }
-        return null;
+    }
+
+    /**
+     * Reads table updates straight from a token stream. The parser must be positioned on the start of the
+     * {@code <table-updates>} object; updates of tables unknown to the schema are skipped.
+     */
+    protected TableUpdates transformingCallback(JsonParser parser, DatabaseSchema dbSchema) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Map<String, TableUpdate> tableUpdateMap = new HashMap<>();
+        DatabaseSchema databaseSchema = this.schemas.get(dbSchema.getName());
+        try (UuidInterner.Scope scope = UuidInterner.enter(uuidInterner)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String tableName = parser.getCurrentName();
+                parser.nextToken();
+                if (databaseSchema.hasTable(tableName)) {
+                    TableSchema table = databaseSchema.table(tableName, TableSchema.class);
+                    tableUpdateMap.put(tableName, table.updatesFromJson(parser));
+                } else {
+                    LOG.debug("Skipping the updates of unknown table {}", tableName);
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new TableUpdates(tableUpdateMap);
+    }
+
+    /**
+     * Sets whether monitor replies are decoded straight from the token stream into table updates.
+     */
+    public static void setStreamingUpdates(boolean streaming) {
+        streamingUpdates = streaming;
+        LOG.info("Ovsdb streaming updates is set to {}", streamingUpdates);
+    }
+
+    /**
+     * Sets whether connections use the schema known to the {@link DatabaseSchemaRegistry} for a database,
+     * when a single version of it is known, instead of asking the device for it.
+     */
+    public static void setSkipKnownSchemas(boolean skip) {
+        skipKnownSchemas = skip;
+        LOG.info("Ovsdb skip known schemas is set to {}", skipKnownSchemas);
+    }
+
+    /**
+     * Sets whether the connections created from now on intern the UUIDs they decode, so that the references
+     * to a row share a single instance.
+     */
+    public static void setInternUuids(boolean intern) {
+        internUuids = intern;
+        LOG.info("Ovsdb uuid interning is set to {}", internUuids);
+    }
+
+    /**
+     * Sets the number of rows from which the table updates not decoded from the token stream, like the
+     * initial replies of monitors, are decoded in parallel by table and chunks of rows.
+     *
+     * @param threshold the number of rows, 0 to always decode on the thread which got the updates
+     */
+    public static void setParallelDecodeThreshold(int threshold) {
+        parallelDecodeThreshold = threshold;
+        LOG.info("Ovsdb parallel decode threshold is set to {}", parallelDecodeThreshold);
+    }
+
+    /**
+     * Sets the time the transactions of the connections created from now on wait for other transactions of
+     * the same connection, to be sent along with them in a single transact request, see
+     * {@link TransactCoalescer}.
+     *
+     * @param windowMillis the time in milliseconds, 0 to send each transaction as it is submitted
+     */
+    public static void setTransactCoalescingWindow(long windowMillis) {
+        transactCoalescingWindow = windowMillis;
+        LOG.info("Ovsdb transact coalescing window is set to {}", transactCoalescingWindow);
+    }
+
+    /**
+     * Sets the number of operations from which the coalesced transactions are sent without waiting for the
+     * end of the window.
+     */
+    public static void setTransactCoalescingMaxOperations(int maxOperations) {
+        transactCoalescingMaxOperations = maxOperations;
+        LOG.info("Ovsdb transact coalescing max operations is set to {}", transactCoalescingMaxOperations);
+    }
+
+    /**
+     * Sets whether monitors ask for update2 notifications, carrying only the changed columns of the modified
+     * rows, from the servers supporting monitor_cond. The changes are applied to the rows known to the client,
+     * so the monitor callbacks get the same old/new updates either way.
+     */
+    public static void setMonitorUpdate2(boolean update2) {
+        monitorUpdate2 = update2;
+        LOG.info("Ovsdb monitor update2 is set to {}", monitorUpdate2);
     }
 
     @Override
     public ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations) {
+        if (transactCoalescer != null) {
+            return transactCoalescer.transact(dbSchema, operations);
+        }
+        return transactNow(dbSchema, operations);
+    }
 
+    private ListenableFuture<List<OperationResult>> transactNow(DatabaseSchema dbSchema,
+            List<Operation> operations) {
         //todo, we may not need transactionbuilder if we can have JSON objects
         TransactBuilder builder = new TransactBuilder(dbSchema);
         for (Operation operation : operations) {
@@ -202,21 +386,10 @@ public class OvsdbClientImpl implements OvsdbClient {
 
         final MonitorHandle monitorHandle = new MonitorHandle(UUID.randomUUID().toString());
         registerCallback(monitorHandle, callback, dbSchema);
-
-        ListenableFuture<JsonNode> monitor = rpc.monitor(
-            () -> Arrays.asList(dbSchema.getName(), monitorHandle.getId(), reqMap));
-        JsonNode result;
-        try {
-            if (timeout == NO_TIMEOUT) {
-                result = monitor.get();
-            } else {
-                result = monitor.get(timeout, TimeUnit.SECONDS);
-            }
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            LOG.warn("Failed to monitor {}", dbSchema, e);
-            return null;
+        if (useMonitorCond(monitorRequest)) {
+            return monitorCond(dbSchema, monitorHandle, reqMap, timeout);
         }
-        return transformingCallback(result, dbSchema);
+        return monitorFull(dbSchema, monitorHandle, reqMap, timeout);
     }
 
     @Override
@@ -239,6 +412,99 @@ public class OvsdbClientImpl implements OvsdbClient {
 
         registerCallback(monitorHandle, callback, dbSchema);
 
+        if (monitorHandle instanceof ResumableMonitorHandle) {
+            return monitorSince(dbSchema, (ResumableMonitorHandle) monitorHandle, reqMap, timeout);
+        }
+        if (useMonitorCond(monitorRequest)) {
+            return monitorCond(dbSchema, monitorHandle, reqMap, timeout);
+        }
+        return monitorFull(dbSchema, monitorHandle, reqMap, timeout);
+    }
+
+    // Conditions can only be sent with monitor_cond, plain monitor requests would be rejected
+    private boolean useMonitorCond(Collection<MonitorRequest> monitorRequests) {
+        return monitorCondSupported
+                && (monitorUpdate2 || monitorRequests.stream().anyMatch(request -> request.getWhere() != null));
+    }
+
+    /*
+     * The rows of a conditional monitor are tracked, to apply the update2 notifications to. Like for
+     * monitor_cond_since, the reply is applied as soon as it is received. Servers that do not know
+     * monitor_cond (replying with an "unknown method" error) are monitored in full, without the conditions,
+     * and are not asked again; other errors fail the monitor.
+     */
+    private TableUpdates monitorCond(DatabaseSchema dbSchema, MonitorHandle monitorHandle,
+                                     ImmutableMap<String, MonitorRequest> reqMap, int timeout) {
+        ResumableMonitorHandle rows = new ResumableMonitorHandle(monitorHandle.getId());
+        monitorCallbacks.get(monitorHandle.getId()).rows = rows;
+        ListenableFuture<TableUpdates> monitor = Futures.transform(rpc.monitor_cond(
+            () -> Arrays.asList(dbSchema.getName(), monitorHandle.getId(), reqMap)),
+            (Function<JsonNode, TableUpdates>) reply -> reply != null && reply.isObject()
+                    ? applyInterning(() -> rows.applyUpdates(reply, dbSchema, null)) : null,
+            MoreExecutors.directExecutor());
+        try {
+            if (timeout == NO_TIMEOUT) {
+                return monitor.get();
+            }
+            return monitor.get(timeout, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (!isUnknownMethod(e)) {
+                LOG.warn("Failed to monitor {}", dbSchema, e);
+                return null;
+            }
+        } catch (InterruptedException | TimeoutException e) {
+            LOG.warn("Failed to monitor {}", dbSchema, e);
+            return null;
+        }
+        LOG.warn("monitor_cond not supported by {}, monitoring {} in full without conditions", connectionInfo,
+                dbSchema.getName());
+        monitorCondSupported = false;
+        monitorCallbacks.get(monitorHandle.getId()).rows = null;
+        return monitorFull(dbSchema, monitorHandle, withoutConditions(reqMap), timeout);
+    }
+
+    private static ImmutableMap<String, MonitorRequest> withoutConditions(Map<String, MonitorRequest> reqMap) {
+        Map<String, MonitorRequest> unconditional = new HashMap<>();
+        for (MonitorRequest request : reqMap.values()) {
+            MonitorRequest copy = new MonitorRequest(request.getTableName(), request.getColumns());
+            copy.setSelect(request.getSelect());
+            unconditional.put(request.getTableName(), copy);
+        }
+        return ImmutableMap.copyOf(unconditional);
+    }
+
+    private static boolean isUnknownMethod(ExecutionException exception) {
+        return exception.getCause() instanceof JsonRpcErrorException
+                && ((JsonRpcErrorException) exception.getCause()).isUnknownMethod();
+    }
+
+    @Override
+    public ListenableFuture<Boolean> changeMonitorConditions(MonitorHandle handler,
+                                                             List<MonitorRequest> monitorRequests) {
+        Map<String, MonitorRequest> conditions = new HashMap<>();
+        for (MonitorRequest request : monitorRequests) {
+            MonitorRequest update = new MonitorRequest(request.getTableName());
+            update.setWhere(request.getWhere());
+            conditions.put(request.getTableName(), update);
+        }
+        return Futures.transform(rpc.monitor_cond_change(
+            () -> Arrays.asList(handler.getId(), handler.getId(), conditions)),
+            // the reply has a null result, errors fail the future
+            (Function<JsonNode, Boolean>) result -> Boolean.TRUE, MoreExecutors.directExecutor());
+    }
+
+    // The replies of monitor_cond and monitor_cond_since are decoded on the IO thread, see monitorSince
+    private TableUpdates applyInterning(Supplier<TableUpdates> decoder) {
+        try (UuidInterner.Scope scope = UuidInterner.enter(uuidInterner)) {
+            return decoder.get();
+        }
+    }
+
+    private TableUpdates monitorFull(DatabaseSchema dbSchema, MonitorHandle monitorHandle,
+                                     ImmutableMap<String, MonitorRequest> reqMap, int timeout) {
+        if (streamingUpdates) {
+            return monitorStreaming(dbSchema, monitorHandle, reqMap, timeout);
+        }
         ListenableFuture<JsonNode> monitor = rpc.monitor(
             () -> Arrays.asList(dbSchema.getName(), monitorHandle.getId(), reqMap));
         JsonNode result;
@@ -255,8 +521,75 @@ public class OvsdbClientImpl implements OvsdbClient {
         return transformingCallback(result, dbSchema);
     }
 
+    /*
+     * The reply is applied to the handle on the IO thread, as soon as it is received, so that the update3
+     * notifications following it are applied on top of it. Servers that do not know monitor_cond_since
+     * reply with an "unknown method" error, and are then monitored with monitor_cond if they know it, or in
+     * full without the conditions.
+     */
+    private TableUpdates monitorSince(DatabaseSchema dbSchema, ResumableMonitorHandle monitorHandle,
+                                      ImmutableMap<String, MonitorRequest> reqMap, int timeout) {
+        ListenableFuture<TableUpdates> monitor = Futures.transform(rpc.monitor_cond_since(
+            () -> Arrays.asList(dbSchema.getName(), monitorHandle.getId(), reqMap,
+                    monitorHandle.getLastTransactionId())),
+            (Function<JsonNode, TableUpdates>) reply -> reply != null && reply.isArray() && reply.size() == 3
+                    ? applyInterning(() -> monitorHandle.applyMonitorReply(reply, dbSchema)) : null,
+            MoreExecutors.directExecutor());
+        try {
+            if (timeout == NO_TIMEOUT) {
+                return monitor.get();
+            }
+            return monitor.get(timeout, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (!isUnknownMethod(e)) {
+                LOG.warn("Failed to monitor {}", dbSchema, e);
+                return null;
+            }
+        } catch (InterruptedException | TimeoutException e) {
+            LOG.warn("Failed to monitor {}", dbSchema, e);
+            return null;
+        }
+        LOG.info("monitor_cond_since not supported by {}, monitoring {} without it", connectionInfo,
+                dbSchema.getName());
+        monitorHandle.reset();
+        if (useMonitorCond(reqMap.values())) {
+            return monitorCond(dbSchema, monitorHandle, reqMap, timeout);
+        }
+        return monitorFull(dbSchema, monitorHandle, withoutConditions(reqMap), timeout);
+    }
+
+    private TableUpdates monitorStreaming(DatabaseSchema dbSchema, MonitorHandle monitorHandle,
+                                          ImmutableMap<String, MonitorRequest> reqMap, int timeout) {
+        ListenableFuture<JsonParser> monitor = rpc.monitorStreaming(
+            () -> Arrays.asList(dbSchema.getName(), monitorHandle.getId(), reqMap));
+        JsonParser result;
+        try {
+            if (timeout == NO_TIMEOUT) {
+                result = monitor.get();
+            } else {
+                result = monitor.get(timeout, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            LOG.warn("Failed to monitor {}", dbSchema, e);
+            return null;
+        }
+        if (result == null) {
+            return null;
+        }
+        try (JsonParser parser = result) {
+            return transformingCallback(parser, dbSchema);
+        } catch (IOException e) {
+            LOG.warn("Failed to decode the monitor reply of {}", dbSchema, e);
+            return null;
+        }
+    }
+
     private void registerCallback(MonitorHandle monitorHandle, MonitorCallBack callback, DatabaseSchema schema) {
-        this.monitorCallbacks.put(monitorHandle.getId(), new CallbackContext(callback, schema));
+        CallbackContext callbackContext = new CallbackContext(callback, schema);
+        if (monitorHandle instanceof ResumableMonitorHandle) {
+            callbackContext.rows = (ResumableMonitorHandle) monitorHandle;
+        }
+        this.monitorCallbacks.put(monitorHandle.getId(), callbackContext);
         setupUpdateListener();
     }
 
@@ -343,6 +676,13 @@ public class OvsdbClientImpl implements OvsdbClient {
     public ListenableFuture<DatabaseSchema> getSchema(final String database) {
 
         DatabaseSchema databaseSchema = schemas.get(database);
+        if (databaseSchema == null && skipKnownSchemas) {
+            databaseSchema = DatabaseSchemaRegistry.getInstance().getKnownSchema(database);
+            if (databaseSchema != null) {
+                LOG.debug("Using the known schema of {} for {}", database, connectionInfo);
+                schemas.put(database, databaseSchema);
+            }
+        }
 
         if (databaseSchema == null) {
             return Futures.transform(
@@ -350,7 +690,6 @@ public class OvsdbClientImpl implements OvsdbClient {
                 (Function<Map<String, DatabaseSchema>, DatabaseSchema>) result -> {
                     if (result.containsKey(database)) {
                         DatabaseSchema dbSchema = result.get(database);
-                        dbSchema.populateInternallyGeneratedColumns();
                         OvsdbClientImpl.this.schemas.put(database, dbSchema);
                         return dbSchema;
                     } else {
@@ -380,7 +719,8 @@ public class OvsdbClientImpl implements OvsdbClient {
         Futures.transform(rpc.get_schema(Collections.singletonList(dbNames.get(0))),
             (Function<JsonNode, Void>) jsonNode -> {
                 try {
-                    schema.put(dbNames.get(0), DatabaseSchema.fromJson(dbNames.get(0), jsonNode));
+                    schema.put(dbNames.get(0),
+                            DatabaseSchemaRegistry.getInstance().register(dbNames.get(0), jsonNode));
                     if (schema.size() > 1 && !sfuture.isCancelled()) {
                         populateSchema(dbNames.subList(1, dbNames.size()), schema, sfuture);
                     } else if (schema.size() == 1) {
@@ -398,9 +738,49 @@ public class OvsdbClientImpl implements OvsdbClient {
         this.rpc = rpc;
     }
 
+    void setEndpoint(JsonRpcEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public int getQueuedRequests() {
+        return endpoint != null ? endpoint.getQueuedRequests() : 0;
+    }
+
+    @Override
+    public long getOutboundBytes() {
+        return endpoint != null ? endpoint.getOutboundBytes() : 0;
+    }
+
+    void setDispatcher(SerialDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public int getDispatchQueueDepth() {
+        return dispatcher != null ? dispatcher.getQueueDepth() : 0;
+    }
+
+    @Override
+    public int getPeakDispatchQueueDepth() {
+        return dispatcher != null ? dispatcher.getPeakQueueDepth() : 0;
+    }
+
+    @Override
+    public boolean isReadSuspended() {
+        return dispatcher != null && dispatcher.isReadSuspended();
+    }
+
+    @Override
+    public long getDispatchedMessages() {
+        return dispatcher != null ? dispatcher.getExecutedTasks() : 0;
+    }
+
     static class CallbackContext {
         MonitorCallBack monitorCallBack;
         DatabaseSchema schema;
+        // Rows the update2 and update3 notifications apply to, for the monitors sending them
+        volatile ResumableMonitorHandle rows;
 
         CallbackContext(MonitorCallBack monitorCallBack, DatabaseSchema schema) {
             this.monitorCallBack = monitorCallBack;
@@ -20,26 +20,25 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.AdaptiveRecvByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.string.StringEncoder;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.util.CharsetUtil;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -62,9 +61,13 @@ import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionListener;
 import org.opendaylight.ovsdb.lib.jsonrpc.ExceptionHandler;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcDecoder;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcEncoder;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcEndpoint;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcServiceBinderHandler;
+import org.opendaylight.ovsdb.lib.jsonrpc.SerialDispatcher;
+import org.opendaylight.ovsdb.lib.jsonrpc.StreamingJsonRpcDecoder;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchemaRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -103,13 +106,37 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
     private static final int IDLE_READER_TIMEOUT = 30;
     private static final int READ_TIMEOUT = 180;
     private static final String OVSDB_RPC_TASK_TIMEOUT_PARAM = "ovsdb-rpc-task-timeout";
+    private static final String OVSDB_RPC_TASK_TIMEOUT_METHOD_PREFIX = OVSDB_RPC_TASK_TIMEOUT_PARAM + "-";
     private static final String USE_SSL = "use-ssl";
     private static boolean useSSL = false;
     private static ICertificateManager certManagerSrv = null;
 
     private static int jsonRpcDecoderMaxFrameLength = 100000;
+    private static boolean jsonRpcDecoderStreaming = false;
+    private static boolean jsonRpcStreamingUpdates = false;
+    private static boolean jsonRpcEncoderDirectBuffers = true;
+    private static boolean jsonRpcPrecomputedDispatch = false;
     private static int listenerPort = 6640;
 
+    private static boolean useNativeEpoll = false;
+    private static int activeIoThreads = 0;
+    private static int passiveIoThreads = 0;
+    // Shared by all active connections, created on first use and shut down when the service is closed
+    private static EventLoopGroup activeEventLoopGroup = null;
+
+    private static int writeBufferLowWaterMark = 32 * 1024;
+    private static int writeBufferHighWaterMark = 64 * 1024;
+
+    private static int updateDispatchThreads = 0;
+    private static int updateDispatchQueueDepth = 1000;
+    // Runs the per connection update dispatchers, created on first use if dispatching is enabled
+    private static ExecutorService updateDispatchPool = null;
+
+    // Configured once and shared by the encoders and endpoints of all connections
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .setSerializationInclusion(Include.NON_NULL);
+
     private static final StalePassiveConnectionService STALE_PASSIVE_CONNECTION_SERVICE =
             new StalePassiveConnectionService(executorService);
     private static Channel serverChannel = null;
@@ -145,11 +172,14 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
     public OvsdbClient connectWithSsl(final InetAddress address, final int port,
                                final SSLContext sslContext) {
         try {
+            final boolean epoll = EventLoopGroups.useEpoll(useNativeEpoll);
             Bootstrap bootstrap = new Bootstrap();
-            bootstrap.group(new NioEventLoopGroup());
-            bootstrap.channel(NioSocketChannel.class);
+            bootstrap.group(getActiveEventLoopGroup(epoll));
+            bootstrap.channel(EventLoopGroups.socketChannelClass(epoll));
             bootstrap.option(ChannelOption.TCP_NODELAY, true);
             bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, new AdaptiveRecvByteBufAllocator(65535, 65535, 65535));
+            bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                    new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark));
 
             bootstrap.handler(new ChannelInitializer<SocketChannel>() {
                 @Override
@@ -163,8 +193,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                     }
                     channel.pipeline().addLast(
                             //new LoggingHandler(LogLevel.INFO),
-                            new JsonRpcDecoder(jsonRpcDecoderMaxFrameLength),
-                            new StringEncoder(CharsetUtil.UTF_8),
+                            newJsonRpcDecoder(),
+                            new JsonRpcEncoder(OBJECT_MAPPER, jsonRpcEncoderDirectBuffers),
                             new IdleStateHandler(IDLE_READER_TIMEOUT, 0, 0),
                             new ReadTimeoutHandler(READ_TIMEOUT),
                             new ExceptionHandler());
@@ -216,19 +246,49 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
         connectionListeners.remove(listener);
     }
 
+    private static synchronized EventLoopGroup getActiveEventLoopGroup(boolean epoll) {
+        if (activeEventLoopGroup == null) {
+            activeEventLoopGroup = EventLoopGroups.newGroup(activeIoThreads, "OVSDB-ActiveConn-IO", epoll);
+            LOG.info("Created {} event loop group for active connections",
+                    epoll ? "epoll" : "nio");
+        }
+        return activeEventLoopGroup;
+    }
+
+    private static synchronized ExecutorService getUpdateDispatchPool() {
+        if (updateDispatchPool == null) {
+            updateDispatchPool = Executors.newFixedThreadPool(updateDispatchThreads,
+                    new ThreadFactoryBuilder().setNameFormat("OVSDB-Update-Dispatch-%d").setDaemon(true).build());
+        }
+        return updateDispatchPool;
+    }
+
+    private static ChannelHandler newJsonRpcDecoder() {
+        if (jsonRpcStreamingUpdates) {
+            return new StreamingJsonRpcDecoder(jsonRpcDecoderMaxFrameLength, true);
+        }
+        if (jsonRpcDecoderStreaming) {
+            return new StreamingJsonRpcDecoder(jsonRpcDecoderMaxFrameLength);
+        }
+        return new JsonRpcDecoder(jsonRpcDecoderMaxFrameLength);
+    }
+
     private static OvsdbClient getChannelClient(Channel channel, ConnectionType type,
         SocketConnectionType socketConnType) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.setSerializationInclusion(Include.NON_NULL);
-
-        JsonRpcEndpoint factory = new JsonRpcEndpoint(objectMapper, channel);
+        JsonRpcEndpoint factory = new JsonRpcEndpoint(OBJECT_MAPPER, channel, jsonRpcPrecomputedDispatch);
         JsonRpcServiceBinderHandler binderHandler = new JsonRpcServiceBinderHandler(factory);
         binderHandler.setContext(channel);
+        SerialDispatcher dispatcher = null;
+        if (updateDispatchThreads > 0) {
+            dispatcher = new SerialDispatcher(getUpdateDispatchPool(), channel, updateDispatchQueueDepth);
+            binderHandler.setDispatcher(dispatcher);
+        }
         channel.pipeline().addLast(binderHandler);
 
         OvsdbRPC rpc = factory.getClient(channel, OvsdbRPC.class);
         OvsdbClientImpl client = new OvsdbClientImpl(rpc, channel, type, socketConnType);
+        client.setEndpoint(factory);
+        client.setDispatcher(dispatcher);
         client.setConnectionPublished(true);
         connections.put(client, channel);
         ChannelFuture closeFuture = channel.closeFuture();
@@ -307,12 +367,13 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
      */
     private static void ovsdbManagerWithSsl(int port, final SSLContext sslContext, final String[] protocols,
             final String[] cipherSuites) {
-        EventLoopGroup bossGroup = new NioEventLoopGroup();
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        final boolean epoll = EventLoopGroups.useEpoll(useNativeEpoll);
+        EventLoopGroup bossGroup = EventLoopGroups.newGroup(1, "OVSDB-PassiveConn-Boss", epoll);
+        EventLoopGroup workerGroup = EventLoopGroups.newGroup(passiveIoThreads, "OVSDB-PassiveConn-IO", epoll);
         try {
             ServerBootstrap serverBootstrap = new ServerBootstrap();
             serverBootstrap.group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
+                    .channel(EventLoopGroups.serverSocketChannelClass(epoll))
                     .option(ChannelOption.SO_BACKLOG, 100)
                     .handler(new LoggingHandler(LogLevel.INFO))
                     .childHandler(new ChannelInitializer<SocketChannel>() {
@@ -342,8 +403,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                             }
 
                             channel.pipeline().addLast(
-                                 new JsonRpcDecoder(jsonRpcDecoderMaxFrameLength),
-                                 new StringEncoder(CharsetUtil.UTF_8),
+                                 newJsonRpcDecoder(),
+                                 new JsonRpcEncoder(OBJECT_MAPPER, jsonRpcEncoderDirectBuffers),
                                  new IdleStateHandler(IDLE_READER_TIMEOUT, 0, 0),
                                  new ReadTimeoutHandler(READ_TIMEOUT),
                                  new ExceptionHandler());
@@ -354,6 +415,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
             serverBootstrap.option(ChannelOption.TCP_NODELAY, true);
             serverBootstrap.option(ChannelOption.RCVBUF_ALLOCATOR,
                     new AdaptiveRecvByteBufAllocator(65535, 65535, 65535));
+            serverBootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                    new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark));
             // Start the server.
             ChannelFuture channelFuture = serverBootstrap.bind(port).sync();
             Channel serverListenChannel = channelFuture.channel();
@@ -513,6 +576,16 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
     public void close() throws Exception {
         LOG.info("OvsdbConnectionService closed");
         JsonRpcEndpoint.close();
+        synchronized (OvsdbConnectionService.class) {
+            if (activeEventLoopGroup != null) {
+                activeEventLoopGroup.shutdownGracefully();
+                activeEventLoopGroup = null;
+            }
+            if (updateDispatchPool != null) {
+                updateDispatchPool.shutdown();
+                updateDispatchPool = null;
+            }
+        }
     }
 
     @Override
@@ -553,6 +626,35 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
         JsonRpcEndpoint.setReaperInterval(timeout);
     }
 
+    /**
+     * Set the timeout of a single OVSDB rpc method, e.g. "monitor" or "transact".
+     * A negative value falls back to the common ovsdb rpc task timeout.
+     *
+     * @param method name of the rpc method
+     * @param timeout timeout in milliseconds
+     */
+    public void setOvsdbRpcTaskTimeout(String method, int timeout) {
+        JsonRpcEndpoint.setReaperInterval(method, timeout);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the timeouts of the OVSDB rpc
+     * methods to the values configured for config options (ovsdb-rpc-task-timeout-&lt;method&gt;) in the
+     * configuration file. The methods missing or with a negative value fall back to the common ovsdb rpc
+     * task timeout.
+     * @param timeouts timeouts in milliseconds, by method name (default : -1)
+     */
+    public void setOvsdbRpcTaskTimeouts(Map<String, String> timeouts) {
+        Map<String, Integer> intervals = new HashMap<>();
+        for (Map.Entry<String, String> timeout : timeouts.entrySet()) {
+            int interval = Integer.parseInt(timeout.getValue().trim());
+            if (interval >= 0) {
+                intervals.put(timeout.getKey(), interval);
+            }
+        }
+        JsonRpcEndpoint.setReaperIntervals(intervals);
+    }
+
     /**
      * Set useSSL flag.
      *
@@ -583,6 +685,288 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
         LOG.info("Json Rpc Decoder Max Frame Length set to : {}", jsonRpcDecoderMaxFrameLength);
     }
 
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the value of json rpc decoder
+     * streaming mode to the value configured for config option (json-rpc-decoder-streaming) in the
+     * configuration file. When enabled, new connections use {@link StreamingJsonRpcDecoder}, which frames
+     * the incoming stream in a single pass. This option is only configured at the boot time of the controller.
+     * @param streaming true to use the streaming decoder (default : false)
+     */
+    public void setJsonRpcDecoderStreaming(boolean streaming) {
+        jsonRpcDecoderStreaming = streaming;
+        LOG.info("Json Rpc Decoder streaming mode set to : {}", jsonRpcDecoderStreaming);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether update notifications and
+     * monitor replies are decoded straight from the token stream, to the value configured for config option
+     * (json-rpc-streaming-updates) in the configuration file. When enabled, new connections use the
+     * {@link StreamingJsonRpcDecoder} in raw mode, and table updates are built from the encoded messages
+     * using the database schema, without an intermediate tree. This option is only configured at the boot
+     * time of the controller.
+     * @param streamingUpdates true to decode updates from the token stream (default : false)
+     */
+    public void setJsonRpcStreamingUpdates(boolean streamingUpdates) {
+        jsonRpcStreamingUpdates = streamingUpdates;
+        OvsdbClientImpl.setStreamingUpdates(streamingUpdates);
+        LOG.info("Json Rpc streaming updates set to : {}", jsonRpcStreamingUpdates);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether monitors ask for update2
+     * notifications to the value configured for config option (ovsdb-monitor-update2) in the configuration
+     * file. When enabled, monitors are sent as monitor_cond to the servers supporting it, and the changes of
+     * the modified rows come as column diffs, which are applied to the rows known to the client.
+     * @param update2 true to ask for update2 notifications (default : false)
+     */
+    public void setOvsdbMonitorUpdate2(boolean update2) {
+        OvsdbClientImpl.setMonitorUpdate2(update2);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the directory the database schemas
+     * received from the devices are persisted to, to the value configured for config option
+     * (ovsdb-schema-cache-dir) in the configuration file. The schemas persisted there are loaded into the
+     * {@link DatabaseSchemaRegistry}, so they are known at once after a restart of the controller. This option
+     * is only configured at the boot time of the controller.
+     * @param directory the directory, empty to not persist the schemas (default : empty)
+     */
+    public void setOvsdbSchemaCacheDir(String directory) {
+        DatabaseSchemaRegistry.getInstance().setDirectory(directory);
+        LOG.info("Ovsdb schema cache directory set to : {}", directory);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether connections skip the
+     * get_schema request for the databases of which a single schema version is known, to the value configured
+     * for config option (ovsdb-schema-skip-known) in the configuration file. Only to be enabled when all the
+     * devices run the same schema version.
+     * @param skip true to use the known schemas without asking the devices (default : false)
+     */
+    public void setOvsdbSchemaSkipKnown(boolean skip) {
+        OvsdbClientImpl.setSkipKnownSchemas(skip);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the number of strings held by the
+     * cache of canonical strings of each database schema, to the value configured for config option
+     * (ovsdb-string-cache-size) in the configuration file. The string values and map keys repeated over the
+     * decoded rows then share one instance; see {@link org.opendaylight.ovsdb.lib.schema.StringCache} for its
+     * hit rate. This option is only configured at the boot time of the controller.
+     * @param size the number of strings, 0 to not cache them (default : 0)
+     */
+    public void setOvsdbStringCacheSize(int size) {
+        DatabaseSchemaRegistry.getInstance().setStringCacheSize(size);
+        LOG.info("Ovsdb string cache size set to : {}", size);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether the rows decoded from
+     * the updates keep the JSON value of their columns and only decode a column when it is first read, to
+     * the value configured for config option (ovsdb-lazy-row-decoding) in the configuration file. Applies to
+     * the database schemas registered afterwards, and not to the updates read from the token stream
+     * (json-rpc-streaming-updates).
+     * @param lazy true to decode the columns when first read (default : false)
+     */
+    public void setOvsdbLazyRowDecoding(boolean lazy) {
+        DatabaseSchemaRegistry.getInstance().setLazyRowDecoding(lazy);
+        LOG.info("Ovsdb lazy row decoding set to : {}", lazy);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether each connection interns
+     * the UUIDs it decodes, so that the many references to a row (ports of a bridge, interfaces of a port,
+     * locator sets...) share one instance, to the value configured for config option (ovsdb-intern-uuids) in
+     * the configuration file. Applies to the connections established afterwards.
+     * @param intern true to intern the UUIDs (default : false)
+     */
+    public void setOvsdbInternUuids(boolean intern) {
+        OvsdbClientImpl.setInternUuids(intern);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the number of rows from which
+     * the table updates, like the initial dump of a monitor, are decoded in parallel by table and chunks of
+     * rows, to the value configured for config option (ovsdb-parallel-decode-threshold) in the configuration
+     * file. Does not apply to the updates decoded from the token stream (json-rpc-streaming-updates).
+     * @param threshold the number of rows, 0 to not decode in parallel (default : 0)
+     */
+    public void setOvsdbParallelDecodeThreshold(int threshold) {
+        OvsdbClientImpl.setParallelDecodeThreshold(threshold);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the time the transactions wait
+     * for other transactions of the same connection, to be merged with them into a single transact request,
+     * to the value configured for config option (ovsdb-transact-coalescing-window) in the configuration file.
+     * Applies to the connections established afterwards.
+     * @param windowMillis the time in milliseconds, 0 to not merge the transactions (default : 0)
+     */
+    public void setOvsdbTransactCoalescingWindow(long windowMillis) {
+        OvsdbClientImpl.setTransactCoalescingWindow(windowMillis);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the number of operations from
+     * which the merged transactions are sent without waiting further, to the value configured for config
+     * option (ovsdb-transact-coalescing-max-operations) in the configuration file.
+     * @param maxOperations the number of operations (default : 256)
+     */
+    public void setOvsdbTransactCoalescingMaxOperations(int maxOperations) {
+        OvsdbClientImpl.setTransactCoalescingMaxOperations(maxOperations);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether the json rpc encoder
+     * serializes outgoing messages into direct buffers, to the value configured for config option
+     * (json-rpc-encoder-direct-buffers) in the configuration file. Buffers are always taken from the
+     * channel allocator. This option is only configured at the boot time of the controller.
+     * @param directBuffers true to prefer direct buffers (default : true)
+     */
+    public void setJsonRpcEncoderDirectBuffers(boolean directBuffers) {
+        jsonRpcEncoderDirectBuffers = directBuffers;
+        LOG.info("Json Rpc Encoder direct buffers set to : {}", jsonRpcEncoderDirectBuffers);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether the json rpc endpoints
+     * dispatch messages through precomputed tables, to the value configured for config option
+     * (json-rpc-precomputed-dispatch) in the configuration file. When enabled, rpc result types and
+     * callback handlers are resolved once per class instead of on every message. This option is only
+     * configured at the boot time of the controller.
+     * @param precomputedDispatch true to use precomputed dispatch tables (default : false)
+     */
+    public void setJsonRpcPrecomputedDispatch(boolean precomputedDispatch) {
+        jsonRpcPrecomputedDispatch = precomputedDispatch;
+        LOG.info("Json Rpc precomputed dispatch set to : {}", jsonRpcPrecomputedDispatch);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether the native epoll transport
+     * is used for the ovsdb connections, to the value configured for config option (use-native-epoll) in the
+     * configuration file. If epoll is not available on the platform, NIO is used. This option is only
+     * configured at the boot time of the controller.
+     * @param useEpoll true to use native epoll when available (default : false)
+     */
+    public void setUseNativeEpoll(boolean useEpoll) {
+        useNativeEpoll = useEpoll;
+        LOG.info("Native epoll transport set to : {}", useNativeEpoll);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the number of IO threads shared
+     * by all the active (controller initiated) connections, to the value configured for config option
+     * (ovsdb-active-io-threads) in the configuration file. This option is only configured at the boot time
+     * of the controller.
+     * @param threads number of IO threads, 0 for twice the number of cores (default : 0)
+     */
+    public void setOvsdbActiveIoThreads(int threads) {
+        activeIoThreads = threads;
+        LOG.info("OVSDB active connection IO threads set to : {}", activeIoThreads);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the number of IO threads serving
+     * the passive (switch initiated) connections, to the value configured for config option
+     * (ovsdb-passive-io-threads) in the configuration file. This option is only configured at the boot time
+     * of the controller.
+     * @param threads number of IO threads, 0 for twice the number of cores (default : 0)
+     */
+    public void setOvsdbPassiveIoThreads(int threads) {
+        passiveIoThreads = threads;
+        LOG.info("OVSDB passive connection IO threads set to : {}", passiveIoThreads);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the number of threads processing
+     * the notifications (e.g. monitor updates) received on all the connections, to the value configured for
+     * config option (ovsdb-update-dispatch-threads) in the configuration file. Each connection processes its
+     * notifications in order on this pool, off the IO threads. This option is only configured at the boot
+     * time of the controller.
+     * @param threads number of threads, 0 to process notifications on the IO threads (default : 0)
+     */
+    public void setOvsdbUpdateDispatchThreads(int threads) {
+        updateDispatchThreads = threads;
+        LOG.info("OVSDB update dispatch threads set to : {}", updateDispatchThreads);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the number of pending notifications
+     * of a connection at which reading from it is suspended, to the value configured for config option
+     * (ovsdb-update-dispatch-queue-depth) in the configuration file. This option is only configured at the
+     * boot time of the controller.
+     * @param queueDepth max number of pending notifications per connection (default : 1000)
+     */
+    public void setOvsdbUpdateDispatchQueueDepth(int queueDepth) {
+        updateDispatchQueueDepth = queueDepth;
+        LOG.info("OVSDB update dispatch queue depth set to : {}", updateDispatchQueueDepth);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the outbound buffer size of a
+     * connection above which new requests are queued instead of written, to the value configured for config
+     * option (json-rpc-write-buffer-high-water-mark) in the configuration file. This option is only
+     * configured at the boot time of the controller.
+     * @param highWaterMark high water mark in bytes (default : 65536)
+     */
+    public void setJsonRpcWriteBufferHighWaterMark(int highWaterMark) {
+        writeBufferHighWaterMark = highWaterMark;
+        LOG.info("Json Rpc write buffer high water mark set to : {}", writeBufferHighWaterMark);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the outbound buffer size of a
+     * connection below which queued requests are written again, to the value configured for config option
+     * (json-rpc-write-buffer-low-water-mark) in the configuration file. This option is only configured at
+     * the boot time of the controller.
+     * @param lowWaterMark low water mark in bytes (default : 32768)
+     */
+    public void setJsonRpcWriteBufferLowWaterMark(int lowWaterMark) {
+        writeBufferLowWaterMark = lowWaterMark;
+        LOG.info("Json Rpc write buffer low water mark set to : {}", writeBufferLowWaterMark);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the max number of requests
+     * queued per connection while its outbound buffer is above the high water mark, to the value configured
+     * for config option (json-rpc-max-queued-requests) in the configuration file.
+     * @param maxQueuedRequests max number of queued requests (default : 10000)
+     */
+    public void setJsonRpcMaxQueuedRequests(int maxQueuedRequests) {
+        JsonRpcEndpoint.setMaxQueuedRequests(maxQueuedRequests);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether a request made while the
+     * queue of its connection is full waits for room (up to the ovsdb rpc task timeout) or fails right away,
+     * to the value configured for config option (json-rpc-park-when-queue-full) in the configuration file.
+     * @param park true to wait for room in the queue (default : false)
+     */
+    public void setJsonRpcParkWhenQueueFull(boolean park) {
+        JsonRpcEndpoint.setParkWhenQueueFull(park);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set whether the flushes of the json rpc
+     * messages sent in a burst are consolidated, to the value configured for config option
+     * (json-rpc-flush-consolidation) in the configuration file. When enabled, messages are written without
+     * being flushed and a single flush per event loop iteration sends them all.
+     * @param consolidate true to consolidate flushes (default : false)
+     */
+    public void setJsonRpcFlushConsolidation(boolean consolidate) {
+        JsonRpcEndpoint.setConsolidateFlushes(consolidate);
+    }
+
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the number of consolidated json rpc
+     * message writes after which a flush is forced, to the value configured for config option
+     * (json-rpc-max-writes-per-flush) in the configuration file.
+     * @param maxWrites max number of writes per flush (default : 64)
+     */
+    public void setJsonRpcMaxWritesPerFlush(int maxWrites) {
+        JsonRpcEndpoint.setMaxWritesPerFlush(maxWrites);
+    }
+
     public void setOvsdbListenerPort(int portNumber) {
         LOG.info("OVSDB port for listening connection is set to : {}", portNumber);
         listenerPort = portNumber;
@@ -591,13 +975,20 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
     public void updateConfigParameter(Map<String, Object> configParameters) {
         if (configParameters != null && !configParameters.isEmpty()) {
             LOG.debug("Config parameters received : {}", configParameters.entrySet());
+            // the method timeouts are rebuilt from the whole configuration, so that removed ones are reset
+            Map<String, String> methodTimeouts = new HashMap<>();
             for (Map.Entry<String, Object> paramEntry : configParameters.entrySet()) {
                 if (paramEntry.getKey().equalsIgnoreCase(OVSDB_RPC_TASK_TIMEOUT_PARAM)) {
                     setOvsdbRpcTaskTimeout(Integer.parseInt((String)paramEntry.getValue()));
+                } else if (paramEntry.getKey().regionMatches(true, 0, OVSDB_RPC_TASK_TIMEOUT_METHOD_PREFIX, 0,
+                        OVSDB_RPC_TASK_TIMEOUT_METHOD_PREFIX.length())) {
+                    methodTimeouts.put(paramEntry.getKey().substring(OVSDB_RPC_TASK_TIMEOUT_METHOD_PREFIX.length())
+                            .toLowerCase(Locale.ROOT), paramEntry.getValue().toString());
                 } else if (paramEntry.getKey().equalsIgnoreCase(USE_SSL)) {
                     useSSL = Boolean.parseBoolean(paramEntry.getValue().toString());
                 }
             }
+            setOvsdbRpcTaskTimeouts(methodTimeouts);
         }
     }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.UuidInterner;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
+
+/**
+ * Decodes large {@code <table-updates>}, such as the initial dump of a monitor on a switch with thousands of
+ * ports, on a fork/join pool: each table is split in chunks of rows decoded in parallel, and the partial
+ * updates of a table are merged back, so the result is the same as the one decoded on a single thread.
+ */
+final class ParallelUpdatesDecoder {
+
+    // Rows decoded by a single task, below which splitting costs more than it saves
+    static final int ROWS_PER_TASK = 256;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+        pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("OVSDB-UpdatesDecoder-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+    private ParallelUpdatesDecoder() {
+        // Prevent instantiating a utility class
+    }
+
+    /**
+     * Returns the number of row updates of some {@code <table-updates>}.
+     */
+    static int rowCount(JsonNode updatesJson) {
+        int count = 0;
+        for (JsonNode tableUpdate : updatesJson) {
+            count += tableUpdate.size();
+        }
+        return count;
+    }
+
+    /**
+     * Decodes some {@code <table-updates>}.
+     *
+     * @param updatesJson the {@code <table-updates>} object
+     * @param dbSchema the schema of the database
+     * @param interner the table the decoded UUIDs are interned in, null not to intern them
+     * @param rowsPerTask the number of rows decoded by a task
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static TableUpdates decode(JsonNode updatesJson, DatabaseSchema dbSchema, UuidInterner interner,
+            int rowsPerTask) {
+        Map<String, RowsTask> tasks = new HashMap<>();
+        for (Iterator<Entry<String, JsonNode>> itr = updatesJson.fields(); itr.hasNext();) {
+            Entry<String, JsonNode> entry = itr.next();
+            TableSchema table = dbSchema.table(entry.getKey(), TableSchema.class);
+            List<Entry<String, JsonNode>> rows = Lists.newArrayList(entry.getValue().fields());
+            tasks.put(entry.getKey(), new RowsTask(table, rows, interner, rowsPerTask));
+        }
+        POOL.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks.values());
+                return null;
+            }
+        });
+        Map<String, TableUpdate> tableUpdateMap = new HashMap<>();
+        for (Entry<String, RowsTask> entry : tasks.entrySet()) {
+            tableUpdateMap.put(entry.getKey(), (TableUpdate) entry.getValue().getRawResult());
+        }
+        return new TableUpdates(tableUpdateMap);
+    }
+
+    /**
+     * Decodes a range of the rows of a table, splitting it in halves down to the rows decoded by a task.
+     */
+    private static final class RowsTask<E extends TableSchema<E>> extends RecursiveTask<TableUpdate<E>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient TableSchema<E> table;
+        private final transient List<Entry<String, JsonNode>> rows;
+        private final transient UuidInterner interner;
+        private final int rowsPerTask;
+
+        RowsTask(TableSchema<E> table, List<Entry<String, JsonNode>> rows, UuidInterner interner,
+                int rowsPerTask) {
+            this.table = table;
+            this.rows = rows;
+            this.interner = interner;
+            this.rowsPerTask = rowsPerTask;
+        }
+
+        @Override
+        protected TableUpdate<E> compute() {
+            if (rows.size() <= rowsPerTask) {
+                // the intern table is current for the thread which got the reply, not for the workers
+                try (UuidInterner.Scope scope = UuidInterner.enter(interner)) {
+                    return table.updatesFromJson(rows);
+                }
+            }
+            int half = rows.size() / 2;
+            RowsTask<E> first = new RowsTask<>(table, rows.subList(0, half), interner, rowsPerTask);
+            RowsTask<E> second = new RowsTask<>(table, rows.subList(half, rows.size()), interner, rowsPerTask);
+            ForkJoinTask.invokeAll(first, second);
+            TableUpdate<E> tableUpdate = first.getRawResult();
+            tableUpdate.addRows(second.getRawResult());
+            return tableUpdate;
+        }
+    }
+}
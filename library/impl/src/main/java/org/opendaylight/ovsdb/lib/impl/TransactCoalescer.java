@@ -0,0 +1,282 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import org.opendaylight.ovsdb.lib.operations.Abort;
+import org.opendaylight.ovsdb.lib.operations.Commit;
+import org.opendaylight.ovsdb.lib.operations.Insert;
+import org.opendaylight.ovsdb.lib.operations.Operation;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the operations of the transactions submitted to a connection within a short window into a single
+ * transact request, so that many small transactions cost one round trip and one commit on the server, and
+ * hands each caller the results of its own operations.
+ *
+ * <p>A transaction being atomic, the failure of the operations of one caller aborts the operations of the
+ * others, which are sent again without them. If the failing caller was the first of the transaction, its
+ * operations ran as if they had been sent alone, and it gets their results with the error. Otherwise the
+ * operations of the callers before it may have caused the failure, and its operations are sent again in a
+ * transaction of their own, after the others. When the commit itself fails, which can not be tied to a
+ * caller, each caller's operations are sent again in a transaction of their own. Transactions
+ * holding an abort, a commit or a wait operation with a timeout are never merged, and are sent after the
+ * transactions waiting to be merged; nor are transactions inserting rows under the same uuid-name.
+ */
+final class TransactCoalescer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactCoalescer.class);
+
+    private static final String WAIT = "wait";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("OVSDB-TransactCoalescer-%d").setDaemon(true).build());
+
+    private final BiFunction<DatabaseSchema, List<Operation>, ListenableFuture<List<OperationResult>>> transact;
+    private final long windowMillis;
+    private final int maxOperations;
+
+    // Guarded by this
+    private List<Batch> pending = new ArrayList<>();
+    private final Set<String> pendingUuidNames = new HashSet<>();
+    private int pendingOperations;
+    private ScheduledFuture<?> flushTimer;
+
+    /**
+     * Creates a coalescer.
+     *
+     * @param transact sends a transact request
+     * @param windowMillis the time the first transaction of a request waits for others
+     * @param maxOperations the number of operations from which a request is sent without waiting further
+     */
+    TransactCoalescer(BiFunction<DatabaseSchema, List<Operation>, ListenableFuture<List<OperationResult>>> transact,
+            long windowMillis, int maxOperations) {
+        this.transact = transact;
+        this.windowMillis = windowMillis;
+        this.maxOperations = maxOperations;
+    }
+
+    ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations) {
+        if (!canCoalesce(operations)) {
+            synchronized (this) {
+                // the transactions submitted before are sent first, so that they still run first
+                List<Batch> batches = takePending();
+                if (!batches.isEmpty()) {
+                    send(batches);
+                }
+                return transact.apply(dbSchema, operations);
+            }
+        }
+        Batch batch = new Batch(dbSchema, new ArrayList<>(operations));
+        List<Batch> flushed = null;
+        List<Batch> full = null;
+        synchronized (this) {
+            if (!pending.isEmpty() && !fits(batch)) {
+                flushed = takePending();
+            }
+            pending.add(batch);
+            pendingUuidNames.addAll(batch.uuidNames);
+            pendingOperations += batch.operations.size();
+            if (pendingOperations >= maxOperations) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                flushTimer = SCHEDULER.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushed != null) {
+            send(flushed);
+        }
+        if (full != null) {
+            send(full);
+        }
+        return batch.future;
+    }
+
+    /**
+     * Sends the pending transactions.
+     */
+    void flush() {
+        List<Batch> batches;
+        synchronized (this) {
+            batches = takePending();
+        }
+        if (!batches.isEmpty()) {
+            send(batches);
+        }
+    }
+
+    private boolean fits(Batch batch) {
+        if (pending.get(0).dbSchema != batch.dbSchema
+                || pendingOperations + batch.operations.size() > maxOperations) {
+            return false;
+        }
+        for (String uuidName : batch.uuidNames) {
+            if (pendingUuidNames.contains(uuidName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Batch> takePending() {
+        List<Batch> batches = pending;
+        pending = new ArrayList<>();
+        pendingUuidNames.clear();
+        pendingOperations = 0;
+        if (flushTimer != null) {
+            // the window of these transactions is over, the timer must not cut short the next one
+            flushTimer.cancel(false);
+            flushTimer = null;
+        }
+        return batches;
+    }
+
+    private void send(List<Batch> batches) {
+        if (batches.size() == 1) {
+            Batch batch = batches.get(0);
+            batch.future.setFuture(transact.apply(batch.dbSchema, batch.operations));
+            return;
+        }
+        List<Operation> operations = new ArrayList<>();
+        for (Batch batch : batches) {
+            operations.addAll(batch.operations);
+        }
+        LOG.debug("Sending {} transactions in a single transact of {} operations", batches.size(),
+            operations.size());
+        Futures.addCallback(transact.apply(batches.get(0).dbSchema, operations),
+            new FutureCallback<List<OperationResult>>() {
+                @Override
+                public void onSuccess(List<OperationResult> results) {
+                    split(batches, results);
+                }
+
+                @Override
+                public void onFailure(Throwable throwable) {
+                    for (Batch batch : batches) {
+                        batch.future.setException(throwable);
+                    }
+                }
+            }, MoreExecutors.directExecutor());
+    }
+
+    private void split(List<Batch> batches, List<OperationResult> results) {
+        List<Batch> aborted = new ArrayList<>();
+        Batch failed = null;
+        int start = 0;
+        for (Batch batch : batches) {
+            int end = start + batch.operations.size();
+            if (failed == null && hasError(results, start, Math.min(end, results.size()))) {
+                failed = batch;
+                if (start == 0) {
+                    batch.future.set(new ArrayList<>(results.subList(start, Math.min(end, results.size()))));
+                }
+            } else {
+                aborted.add(batch);
+            }
+            start = end;
+        }
+        if (failed == null && results.size() > start && hasError(results, start, results.size())) {
+            // the commit failed, without telling for which operations
+            LOG.debug("Commit of coalesced transactions failed, sending them one by one: {}",
+                results.get(results.size() - 1).getError());
+            for (Batch batch : batches) {
+                send(Collections.singletonList(batch));
+            }
+            return;
+        }
+        if (failed != null) {
+            if (!aborted.isEmpty()) {
+                send(aborted);
+            }
+            if (failed != batches.get(0)) {
+                LOG.debug("Coalesced transaction failed after the operations of others, sending it alone");
+                send(Collections.singletonList(failed));
+            }
+            return;
+        }
+        start = 0;
+        for (Batch batch : batches) {
+            int end = start + batch.operations.size();
+            batch.future.set(new ArrayList<>(results.subList(Math.min(start, results.size()),
+                Math.min(end, results.size()))));
+            start = end;
+        }
+    }
+
+    private static boolean hasError(List<OperationResult> results, int start, int end) {
+        for (int index = start; index < end; index++) {
+            OperationResult result = results.get(index);
+            if (result != null && result.getError() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean canCoalesce(List<Operation> operations) {
+        for (Operation operation : operations) {
+            if (Abort.ABORT.equals(operation.getOp()) || Commit.COMMIT.equals(operation.getOp())
+                    || WAIT.equals(operation.getOp()) && waits(operation)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Whether a wait operation holds back the transaction until its condition is met, which would hold back the
+     * transactions merged with it: without a timeout it waits forever, and the library has no Wait operation to
+     * read it from, so it is read from the operation as sent.
+     */
+    private static boolean waits(Operation<?> operation) {
+        JsonNode timeout = OBJECT_MAPPER.valueToTree(operation).get("timeout");
+        return timeout == null || !timeout.isNumber() || timeout.asLong() > 0;
+    }
+
+    /**
+     * The operations of a caller, and its future.
+     */
+    private static final class Batch {
+        private final DatabaseSchema dbSchema;
+        private final List<Operation> operations;
+        private final Set<String> uuidNames = new HashSet<>();
+        private final SettableFuture<List<OperationResult>> future = SettableFuture.create();
+
+        Batch(DatabaseSchema dbSchema, List<Operation> operations) {
+            this.dbSchema = dbSchema;
+            this.operations = operations;
+            for (Operation operation : operations) {
+                if (operation instanceof Insert && ((Insert<?>) operation).getUuidName() != null) {
+                    uuidNames.add(((Insert<?>) operation).getUuidName());
+                }
+            }
+        }
+    }
+}
@@ -8,6 +8,8 @@
 
 package org.opendaylight.ovsdb.lib.jsonrpc;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +17,8 @@ import java.util.List;
 public class JsonRpc10Request {
 
     String id;
+    // Numeric id of locally originated requests, sent as a JSON number; only used when id is null
+    long numericId;
     String method;
     List<Object> params = new ArrayList<>();
 
@@ -22,14 +26,29 @@ public class JsonRpc10Request {
         setId(id);
     }
 
+    public JsonRpc10Request(long numericId) {
+        this.numericId = numericId;
+    }
+
+    @JsonIgnore
     public String getId() {
-        return id;
+        return id != null ? id : Long.toString(numericId);
     }
 
     public void setId(String id) {
         this.id = id;
     }
 
+    @JsonIgnore
+    public long getNumericId() {
+        return numericId;
+    }
+
+    @JsonProperty("id")
+    public Object getIdValue() {
+        return id != null ? id : numericId;
+    }
+
     public String getMethod() {
         return method;
     }
@@ -52,7 +71,7 @@ public class JsonRpc10Request {
 
     @Override
     public String toString() {
-        return "JsonRpc10Request [id=" + id + ", method=" + method
+        return "JsonRpc10Request [id=" + getId() + ", method=" + method
                 + ", params=" + params + "]";
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2015 EBay Software Foundation and others. All rights reserved.
+ * Copyright (c) 2013, 2017 EBay Software Foundation and others. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v1.0 which accompanies this distribution,
@@ -8,20 +8,38 @@
 
 package org.opendaylight.ovsdb.lib.jsonrpc;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToMessageEncoder;
-import java.util.List;
+import io.netty.handler.codec.MessageToByteEncoder;
+import java.io.OutputStream;
 
 /**
- * Created with IntelliJ IDEA.
- * User: araveendrann
- * Date: 10/6/13
- * Time: 11:19 PM
- * To change this template use File | Settings | File Templates.
+ * JSON RPC 1.0 encoder. Requests and responses are serialized by a Jackson generator straight
+ * into a buffer obtained from the channel allocator (pooled, and direct unless configured
+ * otherwise), so no intermediate String or byte[] copy of the message is made.
  */
-public class JsonRpcEncoder extends MessageToMessageEncoder<Object> {
+public class JsonRpcEncoder extends MessageToByteEncoder<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonRpcEncoder(ObjectMapper objectMapper) {
+        this(objectMapper, true);
+    }
+
+    public JsonRpcEncoder(ObjectMapper objectMapper, boolean preferDirect) {
+        super(preferDirect);
+        this.objectMapper = objectMapper;
+    }
+
     @Override
-    protected void encode(ChannelHandlerContext ctx, Object msg, List<Object> out) throws Exception {
+    public boolean acceptOutboundMessage(Object msg) throws Exception {
+        return msg instanceof JsonRpc10Request || msg instanceof JsonRpc10Response;
+    }
 
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+        objectMapper.writeValue((OutputStream) new ByteBufOutputStream(out), msg);
     }
 }
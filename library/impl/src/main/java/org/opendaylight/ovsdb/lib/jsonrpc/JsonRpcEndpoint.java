@@ -8,7 +8,9 @@
 
 package org.opendaylight.ovsdb.lib.jsonrpc;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,41 +22,71 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.channel.Channel;
-
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.opendaylight.ovsdb.lib.error.JsonRpcErrorException;
+import org.opendaylight.ovsdb.lib.error.OutboundQueueFullException;
 import org.opendaylight.ovsdb.lib.error.UnexpectedResultException;
 import org.opendaylight.ovsdb.lib.error.UnsupportedArgumentException;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.message.UpdateNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class JsonRpcEndpoint {
 
     private static final Logger LOG = LoggerFactory.getLogger(JsonRpcEndpoint.class);
-    private static final int REAPER_THREADS = 3;
     private static final ThreadFactory FUTURE_REAPER_THREAD_FACTORY = new ThreadFactoryBuilder()
             .setNameFormat("OVSDB-Lib-Future-Reaper-%d")
             .setDaemon(true).build();
-    private static final ScheduledExecutorService FUTURE_REAPER_SERVICE
-            = Executors.newScheduledThreadPool(REAPER_THREADS, FUTURE_REAPER_THREAD_FACTORY);
-
-    private static int reaperInterval = 1000;
+    /*
+     * Request timeouts are kept in a hashed timing wheel: arming and cancelling a timeout is O(1)
+     * regardless of how many requests are outstanding, and a cancelled timeout is dropped from
+     * its bucket instead of lingering in a scheduler queue until its deadline.
+     */
+    private static final long REAPER_TICK_MILLIS = 50;
+    private static final int REAPER_TICKS_PER_WHEEL = 512;
+    private static final HashedWheelTimer FUTURE_REAPER_TIMER = new HashedWheelTimer(
+            FUTURE_REAPER_THREAD_FACTORY, REAPER_TICK_MILLIS, TimeUnit.MILLISECONDS, REAPER_TICKS_PER_WHEEL);
+
+    private static volatile int reaperInterval = 1000;
+    private static volatile int maxQueuedRequests = 10000;
+    private static volatile boolean parkWhenQueueFull = false;
+    private static volatile boolean consolidateFlushes = false;
+    private static volatile int maxWritesPerFlush = 64;
+    private static final Map<String, Integer> METHOD_REAPER_INTERVALS = new ConcurrentHashMap<>();
+    private static final String UPDATE_METHOD = "update";
+    private static final String UPDATE2_METHOD = "update2";
 
     public class CallContext {
         Method method;
         JsonRpc10Request request;
         SettableFuture<Object> future;
+        volatile Timeout timeout;
+        RpcDispatchTable.ResultDecoder resultDecoder;
 
         public CallContext(JsonRpc10Request request, Method method, SettableFuture<Object> future) {
             this.method = method;
@@ -73,19 +105,49 @@ public class JsonRpcEndpoint {
         public SettableFuture<Object> getFuture() {
             return future;
         }
+
+        void cancelTimeout() {
+            Timeout armed = timeout;
+            if (armed != null) {
+                armed.cancel();
+            }
+        }
     }
 
     ObjectMapper objectMapper;
     Channel nettyChannel;
-    Map<String, CallContext> methodContext = new ConcurrentHashMap<>();
+    PendingCallTable<CallContext> methodContext = new PendingCallTable<>();
+    // Ids of locally originated requests; 0 is never handed out, see PendingCallTable
+    private final AtomicLong nextRequestId = new AtomicLong();
+    // Requests waiting for the channel to become writable, see sendRequest()
+    private final Queue<CallContext> outboundQueue = new ArrayDeque<>();
+    // Flush consolidation state, see writeAndScheduleFlush()
+    private boolean flushScheduled = false;
+    private int unflushedWrites = 0;
+    private final Runnable flushTask = this::flushWrites;
     Map<Object, OvsdbRPC.Callback> requestCallbacks = new HashMap<>();
+    // Set in precomputed dispatch mode only
+    private final RpcDispatchTable dispatchTable;
 
     public JsonRpcEndpoint(ObjectMapper objectMapper, Channel channel) {
+        this(objectMapper, channel, false);
+    }
+
+    /**
+     * Creates an endpoint.
+     *
+     * @param precomputedDispatch if true, response result types and callback handlers are resolved
+     *     once per class into a {@link RpcDispatchTable} instead of by reflection on every message
+     */
+    public JsonRpcEndpoint(ObjectMapper objectMapper, Channel channel, boolean precomputedDispatch) {
         this.objectMapper = objectMapper;
         this.nettyChannel = channel;
+        this.dispatchTable = precomputedDispatch ? RpcDispatchTable.forMapper(objectMapper) : null;
     }
 
     public <T> T getClient(final Object context, Class<T> klazz) {
+        final Map<String, RpcDispatchTable.ResultDecoder> resultDecoders =
+                dispatchTable != null ? dispatchTable.getResultDecoders(klazz) : null;
 
         return Reflection.newProxy(klazz, (proxy, method, args) -> {
             if (method.getName().equals(OvsdbRPC.REGISTER_CALLBACK_METHOD)) {
@@ -96,8 +158,9 @@ public class JsonRpcEndpoint {
                 return true;
             }
 
-            JsonRpc10Request request = new JsonRpc10Request(UUID.randomUUID().toString());
-            request.setMethod(method.getName());
+            final long requestId = nextRequestId.incrementAndGet();
+            JsonRpc10Request request = new JsonRpc10Request(requestId);
+            request.setMethod(rpcMethodName(method));
 
             if (args != null && args.length != 0) {
                 List<Object> params = null;
@@ -116,37 +179,280 @@ public class JsonRpcEndpoint {
                 }
             }
 
-            String requestString = objectMapper.writeValueAsString(request);
-            LOG.trace("getClient Request : {}", requestString);
+            LOG.trace("getClient Request : {}", request);
 
             SettableFuture<Object> sf = SettableFuture.create();
-            methodContext.put(request.getId(), new CallContext(request, method, sf));
-            FUTURE_REAPER_SERVICE.schedule(() -> {
-                CallContext cc = methodContext.remove(request.getId());
+            CallContext callContext = new CallContext(request, method, sf);
+            if (resultDecoders != null) {
+                callContext.resultDecoder = resultDecoders.get(method.getName());
+            }
+            methodContext.put(requestId, callContext);
+            callContext.timeout = FUTURE_REAPER_TIMER.newTimeout(timeout -> {
+                CallContext cc = methodContext.remove(requestId);
                 if (cc != null) {
                     if (cc.getFuture().isDone() || cc.getFuture().isCancelled()) {
                         return;
                     }
                     cc.getFuture().cancel(false);
                 }
-            }, reaperInterval, TimeUnit.MILLISECONDS);
-
-            nettyChannel.writeAndFlush(requestString);
+            }, getReaperInterval(request.getMethod()), TimeUnit.MILLISECONDS);
 
+            sendRequest(callContext);
             return sf;
         }
         );
     }
 
+    /*
+     * Requests are written straight through while the channel is writable. Once its outbound buffer
+     * crosses the high water mark, they are queued until it drains below the low water mark again, see
+     * channelWritabilityChanged(). The queue is bounded; when it is full the request either fails right
+     * away or, if so configured and the caller is not an IO thread, the caller waits for room.
+     */
+    private void sendRequest(CallContext callContext) {
+        synchronized (outboundQueue) {
+            if (!outboundQueue.isEmpty() || !nettyChannel.isWritable()) {
+                if (!awaitOutboundQueueRoom(callContext.getRequest())) {
+                    failRequest(callContext, new OutboundQueueFullException("Outbound queue of " + nettyChannel
+                            + " is full, " + outboundQueue.size() + " requests pending"));
+                    return;
+                }
+                outboundQueue.add(callContext);
+                if (outboundQueue.size() == 1) {
+                    // the channel may have become writable before the request was queued
+                    nettyChannel.eventLoop().execute(this::drainOutboundQueue);
+                }
+                return;
+            }
+        }
+        writeRequest(callContext, true);
+    }
+
+    // Called with the outboundQueue lock held, waits for up to the timeout of the request
+    private boolean awaitOutboundQueueRoom(JsonRpc10Request request) {
+        if (outboundQueue.size() < maxQueuedRequests) {
+            return true;
+        }
+        if (!parkWhenQueueFull || nettyChannel.eventLoop().inEventLoop()) {
+            return false;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getReaperInterval(request.getMethod()));
+        try {
+            while (outboundQueue.size() >= maxQueuedRequests && nettyChannel.isActive()) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                outboundQueue.wait(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return outboundQueue.size() < maxQueuedRequests;
+    }
+
+    private void writeRequest(CallContext callContext, boolean flush) {
+        ChannelFuture writeFuture = flush ? writeAndScheduleFlush(callContext.getRequest())
+                : nettyChannel.write(callContext.getRequest());
+        writeFuture.addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                failRequest(callContext, future.cause());
+            }
+        });
+    }
+
+    /*
+     * Without flush consolidation every message is flushed on its own, i.e. costs a syscall and with SSL a
+     * TLS record. With it, the message is only written, and a single flush is scheduled on the event loop
+     * for all the messages written until it runs: an isolated message still goes out within the same event
+     * loop iteration, while a burst goes out in a few large writes. A flush is forced after
+     * maxWritesPerFlush writes to bound the buffering. The flush state is only touched on the event loop.
+     */
+    private ChannelFuture writeAndScheduleFlush(Object message) {
+        if (!consolidateFlushes) {
+            return nettyChannel.writeAndFlush(message);
+        }
+        EventLoop eventLoop = nettyChannel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            return writeAndScheduleFlush(message, nettyChannel.newPromise());
+        }
+        ChannelPromise promise = nettyChannel.newPromise();
+        eventLoop.execute(() -> writeAndScheduleFlush(message, promise));
+        return promise;
+    }
+
+    private ChannelFuture writeAndScheduleFlush(Object message, ChannelPromise promise) {
+        nettyChannel.write(message, promise);
+        if (++unflushedWrites >= maxWritesPerFlush) {
+            flushWrites();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            nettyChannel.eventLoop().execute(flushTask);
+        }
+        return promise;
+    }
+
+    private void flushWrites() {
+        flushScheduled = false;
+        unflushedWrites = 0;
+        nettyChannel.flush();
+    }
+
+    private void failRequest(CallContext callContext, Throwable cause) {
+        CallContext cc = methodContext.remove(callContext.getRequest().getNumericId());
+        if (cc != null) {
+            cc.cancelTimeout();
+        }
+        callContext.getFuture().setException(cause);
+    }
+
+    /**
+     * Writes the queued requests for as long as the channel stays writable. Called on the IO thread when
+     * the writability of the channel changes.
+     */
+    public void channelWritabilityChanged() {
+        drainOutboundQueue();
+    }
+
+    /**
+     * Fails the requests still queued when the channel is closed.
+     */
+    public void channelInactive() {
+        List<CallContext> pending;
+        synchronized (outboundQueue) {
+            pending = new ArrayList<>(outboundQueue);
+            outboundQueue.clear();
+            outboundQueue.notifyAll();
+        }
+        for (CallContext callContext : pending) {
+            failRequest(callContext, new ClosedChannelException());
+        }
+    }
+
+    private void drainOutboundQueue() {
+        boolean written = false;
+        while (nettyChannel.isWritable()) {
+            CallContext callContext;
+            synchronized (outboundQueue) {
+                callContext = outboundQueue.poll();
+                if (callContext == null) {
+                    break;
+                }
+                outboundQueue.notify();
+            }
+            // skip requests that timed out while queued
+            if (!callContext.getFuture().isDone()) {
+                writeRequest(callContext, false);
+                written = true;
+            }
+        }
+        if (written) {
+            nettyChannel.flush();
+        }
+    }
+
+    /**
+     * Returns the number of requests waiting for the channel to become writable.
+     */
+    public int getQueuedRequests() {
+        synchronized (outboundQueue) {
+            return outboundQueue.size();
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the channel but not yet sent to the socket.
+     */
+    public long getOutboundBytes() {
+        ChannelOutboundBuffer buffer = nettyChannel.unsafe().outboundBuffer();
+        return buffer != null ? buffer.totalPendingWriteBytes() : 0;
+    }
+
+    private static String rpcMethodName(Method method) {
+        RpcMethod rpcMethod = method.getAnnotation(RpcMethod.class);
+        return rpcMethod != null ? rpcMethod.value() : method.getName();
+    }
+
+    /*
+     * Methods declared to return a future of a JsonParser get a parser over their result, positioned on
+     * its first token, which they have to close.
+     */
+    static boolean returnsParser(Method method) {
+        Type type = method.getGenericReturnType();
+        return type instanceof ParameterizedType
+                && ((ParameterizedType) type).getActualTypeArguments()[0] == JsonParser.class;
+    }
+
+    static JsonParser resultParser(JsonNode result, ObjectCodec codec) throws IOException {
+        if (result == null) {
+            return null;
+        }
+        JsonParser parser = result.traverse(codec);
+        parser.nextToken();
+        return parser;
+    }
+
+    /**
+     * Processes a response kept in its encoded form. Results the caller asked a {@link JsonParser} for are
+     * handed over as a parser over the encoded message, others are decoded as usual.
+     */
+    public void processResult(RawJsonRpcMessage response) throws NoSuchMethodException, IOException {
+        CallContext returnCtxt = methodContext.get(parseRequestId(response.getId()));
+        if (returnCtxt == null || !returnsParser(returnCtxt.getMethod())) {
+            processResult(response.toTree());
+            return;
+        }
+        LOG.trace("Response : {}", response);
+        if (methodContext.remove(parseRequestId(response.getId())) == null) {
+            return;
+        }
+        returnCtxt.cancelTimeout();
+        JsonParser result = response.memberParser("result");
+        if (result == null || result.getCurrentToken() == JsonToken.VALUE_NULL) {
+            // only failed requests have no result, their error is small enough to be decoded as a tree
+            if (result != null) {
+                result.close();
+            }
+            JsonNode error = response.toTree().get("error");
+            if (error != null && !error.isNull()) {
+                failWithError(returnCtxt, error);
+                return;
+            }
+            result = response.memberParser("result");
+        }
+        if (!returnCtxt.getFuture().set(result) && result != null) {
+            result.close();
+        }
+    }
+
     public void processResult(JsonNode response) throws NoSuchMethodException {
 
-        LOG.trace("Response : {}", response.toString());
-        CallContext returnCtxt = methodContext.remove(response.get("id").asText());
+        LOG.trace("Response : {}", response);
+        CallContext returnCtxt = methodContext.remove(parseRequestId(response.get("id")));
         if (returnCtxt == null) {
             return;
         }
+        returnCtxt.cancelTimeout();
 
-        if (ListenableFuture.class == returnCtxt.getMethod().getReturnType()) {
+        JsonNode error = response.get("error");
+        if (error != null && !error.isNull()) {
+            failWithError(returnCtxt, error);
+            return;
+        }
+        if (returnCtxt.resultDecoder != null) {
+            try {
+                returnCtxt.getFuture().set(returnCtxt.resultDecoder.decode(response.get("result")));
+            } catch (IOException e) {
+                returnCtxt.getFuture().setException(e);
+            }
+        } else if (returnsParser(returnCtxt.getMethod())) {
+            try {
+                returnCtxt.getFuture().set(resultParser(response.get("result"), objectMapper));
+            } catch (IOException e) {
+                returnCtxt.getFuture().setException(e);
+            }
+        } else if (ListenableFuture.class == returnCtxt.getMethod().getReturnType()) {
             TypeToken<?> retType = TypeToken.of(
                     returnCtxt.getMethod().getGenericReturnType())
                     .resolveType(ListenableFuture.class.getMethod("get").getGenericReturnType());
@@ -154,11 +460,6 @@ public class JsonRpcEndpoint {
 
             JsonNode result = response.get("result");
             Object result1 = objectMapper.convertValue(result, javaType);
-            JsonNode error = response.get("error");
-            if (error != null && !error.isNull()) {
-                LOG.error("Error : {}", error.toString());
-            }
-
             returnCtxt.getFuture().set(result1);
 
         } else {
@@ -166,13 +467,103 @@ public class JsonRpcEndpoint {
         }
     }
 
+    /*
+     * Per JSON-RPC 1.0, a reply with a non-null error is a failure: the future of the request fails with it
+     * rather than getting the (null) result.
+     */
+    private static void failWithError(CallContext returnCtxt, JsonNode error) {
+        LOG.debug("Error reply to {}: {}", returnCtxt.getRequest().getMethod(), error);
+        returnCtxt.getFuture().setException(new JsonRpcErrorException(returnCtxt.getRequest().getMethod(), error));
+    }
+
+    /**
+     * Extracts the numeric id of one of our requests from a response id, which is a JSON number,
+     * or a string of digits for peers that quote it. Text is scanned in place, no String is created.
+     *
+     * @return the request id, or 0 (never handed out) if the id cannot be one of ours
+     */
+    static long parseRequestId(JsonNode idNode) {
+        if (idNode == null) {
+            return 0;
+        }
+        if (idNode.isIntegralNumber()) {
+            return idNode.longValue();
+        }
+        if (!idNode.isTextual()) {
+            return 0;
+        }
+        String text = idNode.textValue();
+        int length = text.length();
+        if (length == 0 || length > 18) {
+            return 0;
+        }
+        long id = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return 0;
+            }
+            id = id * 10 + (ch - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Processes a request kept in its encoded form. {@code update} notifications are handed to the callback
+     * with a parser over their table updates, positioned on the start of the {@code <table-updates>} object,
+     * so that it can decode them straight from the token stream; the parser is closed once the callback
+     * returns. Other requests are decoded as usual.
+     */
+    public void processRequest(Object context, RawJsonRpcMessage requestMessage) {
+        OvsdbRPC.Callback callback = requestCallbacks.get(context);
+        String method = requestMessage.getMethod();
+        if (callback == null || !UPDATE_METHOD.equals(method) && !UPDATE2_METHOD.equals(method)) {
+            try {
+                processRequest(context, requestMessage.toTree());
+            } catch (IOException e) {
+                LOG.error("Unable to decode request {} on {}", requestMessage, context, e);
+            }
+            return;
+        }
+        LOG.trace("Request : {}", requestMessage);
+        try (JsonParser params = requestMessage.memberParser("params")) {
+            if (params == null || params.getCurrentToken() != JsonToken.START_ARRAY) {
+                LOG.error("Invalid params of request {} on {}", requestMessage, context);
+                return;
+            }
+            params.nextToken();
+            UpdateNotification updateNotification = new UpdateNotification();
+            updateNotification.setContext(params.getValueAsString());
+            params.skipChildren();
+            if (params.nextToken() != JsonToken.START_OBJECT) {
+                LOG.error("Invalid table updates of request {} on {}", requestMessage, context);
+                return;
+            }
+            updateNotification.setUpdatesParser(params);
+            if (UPDATE2_METHOD.equals(method)) {
+                callback.update2(context, updateNotification);
+            } else {
+                callback.update(context, updateNotification);
+            }
+        } catch (IOException e) {
+            LOG.error("Unable to decode request {} on {}", requestMessage, context, e);
+        }
+    }
+
     public void processRequest(Object context, JsonNode requestJson) {
         JsonRpc10Request request = new JsonRpc10Request(requestJson.get("id").asText());
         request.setMethod(requestJson.get("method").asText());
         LOG.trace("Request : {} {} {}", requestJson.get("id"), requestJson.get("method"),
                 requestJson.get("params"));
         OvsdbRPC.Callback callback = requestCallbacks.get(context);
-        if (callback != null) {
+        if (callback != null && dispatchTable != null) {
+            RpcDispatchTable.CallbackHandler handler =
+                    dispatchTable.getCallbackHandlers(callback.getClass()).get(request.getMethod());
+            if (handler != null) {
+                handler.invoke(callback, context, requestJson.get("params"));
+                return;
+            }
+        } else if (callback != null) {
             Method[] methods = callback.getClass().getDeclaredMethods();
             for (Method method : methods) {
                 if (method.getName().equals(request.getMethod())) {
@@ -194,36 +585,29 @@ public class JsonRpcEndpoint {
         // Echo dont need any special processing. hence handling it internally.
 
         if (request.getMethod().equals("echo")) {
-            JsonRpc10Response response = new JsonRpc10Response(request.getId());
-            response.setError(null);
-            String jsonString = null;
-            try {
-                jsonString = objectMapper.writeValueAsString(response);
-                nettyChannel.writeAndFlush(jsonString);
-            } catch (JsonProcessingException e) {
-                LOG.error("Exception while processing JSON string {}", jsonString, e);
-            }
+            sendResponse(new JsonRpc10Response(request.getId()));
             return;
         }
 
         // send a null response for list_dbs
         if (request.getMethod().equals("list_dbs")) {
-            JsonRpc10Response response = new JsonRpc10Response(request.getId());
-            response.setError(null);
-            String jsonString = null;
-            try {
-                jsonString = objectMapper.writeValueAsString(response);
-                nettyChannel.writeAndFlush(jsonString);
-            } catch (JsonProcessingException e) {
-                LOG.error("Exception while processing JSON string {}", jsonString, e);
-            }
+            sendResponse(new JsonRpc10Response(request.getId()));
             return;
         }
 
         LOG.error("No handler for Request : {} on {}", requestJson.toString(), context);
     }
 
-    public Map<String, CallContext> getMethodContext() {
+    private void sendResponse(JsonRpc10Response response) {
+        response.setError(null);
+        writeAndScheduleFlush(response).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                LOG.error("Exception while sending response {}", response.getId(), future.cause());
+            }
+        });
+    }
+
+    public PendingCallTable<CallContext> getMethodContext() {
         return methodContext;
     }
 
@@ -232,8 +616,73 @@ public class JsonRpcEndpoint {
         LOG.info("Ovsdb Rpc Task interval is set to {} millisecond", reaperInterval);
     }
 
+    /**
+     * Sets the timeout of a specific RPC method, overriding the default reaper interval for it.
+     *
+     * @param method name of the RPC method, e.g. "monitor" or "get_schema"
+     * @param interval timeout in milliseconds; a negative value removes the override
+     */
+    public static void setReaperInterval(String method, int interval) {
+        if (interval < 0) {
+            METHOD_REAPER_INTERVALS.remove(method);
+            LOG.info("Ovsdb Rpc Task interval for {} is reset to the default", method);
+        } else {
+            METHOD_REAPER_INTERVALS.put(method, interval);
+            LOG.info("Ovsdb Rpc Task interval for {} is set to {} millisecond", method, interval);
+        }
+    }
+
+    /**
+     * Sets the timeouts of all the RPC methods with a specific one, removing the overrides of the others.
+     *
+     * @param intervals timeouts in milliseconds, by method name
+     */
+    public static void setReaperIntervals(Map<String, Integer> intervals) {
+        METHOD_REAPER_INTERVALS.keySet().retainAll(intervals.keySet());
+        METHOD_REAPER_INTERVALS.putAll(intervals);
+        LOG.info("Ovsdb Rpc Task intervals are set to {} millisecond", intervals);
+    }
+
+    static int getReaperInterval(String method) {
+        Integer interval = METHOD_REAPER_INTERVALS.get(method);
+        return interval != null ? interval : reaperInterval;
+    }
+
+    /**
+     * Sets the max number of requests queued per endpoint while its channel is not writable.
+     */
+    public static void setMaxQueuedRequests(int maxRequests) {
+        maxQueuedRequests = maxRequests;
+        LOG.info("Ovsdb Rpc max queued requests is set to {}", maxQueuedRequests);
+    }
+
+    /**
+     * Sets whether callers wait for room in a full outbound queue, up to the rpc task timeout,
+     * instead of failing right away. Calls made from an IO thread always fail right away.
+     */
+    public static void setParkWhenQueueFull(boolean park) {
+        parkWhenQueueFull = park;
+        LOG.info("Ovsdb Rpc park when queue full is set to {}", parkWhenQueueFull);
+    }
+
+    /**
+     * Sets whether the flushes of the messages written in a burst are consolidated into one.
+     */
+    public static void setConsolidateFlushes(boolean consolidate) {
+        consolidateFlushes = consolidate;
+        LOG.info("Ovsdb Rpc flush consolidation is set to {}", consolidateFlushes);
+    }
+
+    /**
+     * Sets the number of consolidated writes after which a flush is forced.
+     */
+    public static void setMaxWritesPerFlush(int maxWrites) {
+        maxWritesPerFlush = maxWrites;
+        LOG.info("Ovsdb Rpc max writes per flush is set to {}", maxWritesPerFlush);
+    }
+
     public static void close() {
-        LOG.info("Shutting down reaper executor service");
-        FUTURE_REAPER_SERVICE.shutdownNow();
+        LOG.info("Shutting down reaper timer");
+        FUTURE_REAPER_TIMER.stop();
     }
 }
@@ -17,8 +17,10 @@ import org.slf4j.LoggerFactory;
 
 public class JsonRpcServiceBinderHandler extends ChannelInboundHandlerAdapter {
     private static final Logger LOG = LoggerFactory.getLogger(JsonRpcServiceBinderHandler.class);
+    private static final String ECHO_METHOD = "echo";
     JsonRpcEndpoint factory = null;
     Object context = null;
+    SerialDispatcher dispatcher = null;
 
     public Object getContext() {
         return context;
@@ -32,6 +34,18 @@ public class JsonRpcServiceBinderHandler extends ChannelInboundHandlerAdapter {
         this.factory = factory;
     }
 
+    public SerialDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Sets the dispatcher the incoming requests (e.g. monitor updates) are processed on. Echo requests
+     * and responses are still handled on the IO thread. Without a dispatcher, everything is.
+     */
+    public void setDispatcher(SerialDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     @Override
     public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
         if (msg instanceof JsonNode) {
@@ -48,13 +62,31 @@ public class JsonRpcServiceBinderHandler extends ChannelInboundHandlerAdapter {
                 }
             } else if (jsonNode.hasNonNull("method")) {
                 if (jsonNode.has("id") && !Strings.isNullOrEmpty(jsonNode.get("id").asText())) {
-                    factory.processRequest(context, jsonNode);
+                    if (dispatcher != null && !ECHO_METHOD.equals(jsonNode.get("method").asText())) {
+                        dispatcher.execute(() -> factory.processRequest(context, jsonNode));
+                    } else {
+                        factory.processRequest(context, jsonNode);
+                    }
                 } else {
                     LOG.debug("Request with null or empty id field: {} {}", jsonNode.get("method"),
                             jsonNode.get("params"));
                 }
             }
 
+            return;
+        } else if (msg instanceof RawJsonRpcMessage) {
+            RawJsonRpcMessage rawMessage = (RawJsonRpcMessage) msg;
+            if (rawMessage.isResponse()) {
+                try {
+                    factory.processResult(rawMessage);
+                } catch (NoSuchMethodException e) {
+                    LOG.error("NoSuchMethodException when handling {}", msg, e);
+                }
+            } else if (dispatcher != null) {
+                dispatcher.execute(() -> factory.processRequest(context, rawMessage));
+            } else {
+                factory.processRequest(context, rawMessage);
+            }
             return;
         }
         ctx.channel().close();
@@ -64,4 +96,16 @@ public class JsonRpcServiceBinderHandler extends ChannelInboundHandlerAdapter {
     public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
         ctx.flush();
     }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        factory.channelWritabilityChanged();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        factory.channelInactive();
+        super.channelInactive(ctx);
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table of outstanding RPC calls keyed by their numeric request id.
+ *
+ * <p>Uses open addressing with linear probing over a primitive {@code long[]} so that neither
+ * the keys nor map entries are allocated per call. Removal shifts the following entries of the
+ * probe sequence back instead of leaving tombstones, keeping lookups short under constant churn.
+ * Key {@code 0} is reserved as the empty marker; {@link JsonRpcEndpoint} hands out ids from 1.
+ *
+ * <p>The table is shared between the callers issuing requests, the IO thread completing them
+ * and the timeout handling, so all operations are synchronized; critical sections are a few
+ * array accesses long.
+ *
+ * @param <V> type of the call context
+ */
+public class PendingCallTable<V> {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public PendingCallTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public synchronized void put(long key, V value) {
+        checkKey(key);
+        int index = indexOf(key);
+        if (keys[index] == EMPTY) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+        if (size > (mask + 1) >> 1) {
+            rehash((mask + 1) << 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized V get(long key) {
+        if (key == EMPTY) {
+            return null;
+        }
+        int index = indexOf(key);
+        return keys[index] == EMPTY ? null : (V) values[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized V remove(long key) {
+        if (key == EMPTY) {
+            return null;
+        }
+        int index = indexOf(key);
+        if (keys[index] == EMPTY) {
+            return null;
+        }
+        V value = (V) values[index];
+        size--;
+        shiftBack(index);
+        return value;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries from the table.
+     *
+     * @return the values that were present
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<V> drain() {
+        List<V> drained = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                drained.add((V) values[i]);
+            }
+        }
+        allocate(MIN_CAPACITY);
+        return drained;
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    // Returns the slot holding the key, or the empty slot where it would be inserted
+    private int indexOf(long key) {
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void shiftBack(int removed) {
+        int free = removed;
+        int index = removed;
+        while (true) {
+            index = (index + 1) & mask;
+            long key = keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = hash(key) & mask;
+            // move the entry into the hole unless its home slot lies cyclically in (free, index]
+            if (free <= index ? free >= home || home > index : free >= home && home > index) {
+                keys[free] = key;
+                values[free] = values[index];
+                free = index;
+            }
+        }
+        keys[free] = EMPTY;
+        values[free] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+}
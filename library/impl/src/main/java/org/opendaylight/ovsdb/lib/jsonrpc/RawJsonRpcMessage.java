@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import java.io.IOException;
+
+/**
+ * A JSON-RPC message kept in its encoded form, so that its payload can be decoded straight from the
+ * token stream (e.g. into {@code TableUpdates}) instead of going through a {@link JsonNode} tree.
+ *
+ * <p>Only the envelope (the method name, and for responses the id) is read up front, see
+ * {@link #scan(byte[])}.
+ */
+public final class RawJsonRpcMessage {
+
+    private static final JsonFactory JSON_FACTORY = new MappingJsonFactory();
+
+    private final byte[] data;
+    private final String method;
+    private final JsonNode id;
+
+    private RawJsonRpcMessage(byte[] data, String method, JsonNode id) {
+        this.data = data;
+        this.method = method;
+        this.id = id;
+    }
+
+    /**
+     * Reads the envelope of a message. Only the top level members are looked at; the values of
+     * "params", "result" and "error" are skipped, and the scan stops as soon as the message is known
+     * to be a request (its method was read) or a response (its id and result were seen).
+     *
+     * @param data the encoded message
+     * @return the message, with its method set for requests and null for responses
+     */
+    static RawJsonRpcMessage scan(byte[] data) throws IOException {
+        String method = null;
+        JsonNode id = null;
+        boolean result = false;
+        try (JsonParser parser = JSON_FACTORY.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON-RPC message is not an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("method".equals(field) && token == JsonToken.VALUE_STRING) {
+                    method = parser.getText();
+                    break;
+                } else if ("id".equals(field)) {
+                    id = parser.readValueAsTree();
+                } else {
+                    result |= "result".equals(field);
+                    parser.skipChildren();
+                }
+                if (result && id != null) {
+                    break;
+                }
+            }
+        }
+        return new RawJsonRpcMessage(data, method, id);
+    }
+
+    /**
+     * Returns the method of a request or notification, null for a response.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the id of a response. Not read for requests.
+     */
+    public JsonNode getId() {
+        return id;
+    }
+
+    public boolean isResponse() {
+        return method == null;
+    }
+
+    /**
+     * Returns the number of bytes of the encoded message.
+     */
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * Decodes the whole message into a tree.
+     */
+    public JsonNode toTree() throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(data)) {
+            return parser.readValueAsTree();
+        }
+    }
+
+    /**
+     * Creates a parser positioned on the first token of the value of a top level member of the message,
+     * e.g. "params" or "result". The caller is responsible for closing it.
+     *
+     * @return the parser, or null if the message has no such member
+     */
+    public JsonParser memberParser(String member) throws IOException {
+        JsonParser parser = JSON_FACTORY.createParser(data);
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (member.equals(field)) {
+                    return parser;
+                }
+                parser.skipChildren();
+            }
+        }
+        parser.close();
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "RawJsonRpcMessage [method=" + method + ", id=" + id + ", size=" + data.length + "]";
+    }
+}
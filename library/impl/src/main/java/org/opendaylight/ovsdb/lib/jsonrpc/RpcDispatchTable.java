@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-class dispatch tables used by {@link JsonRpcEndpoint} in precomputed dispatch mode.
+ *
+ * <p>The generic return types of the RPC proxy interface methods and the handler methods of the
+ * callback classes are resolved once per class, into a table mapping the method name to a
+ * ready-to-use {@link ObjectReader} (and, for callbacks, a pre-bound {@link MethodHandle}).
+ * Handling a message then costs a hash lookup plus the deserialization itself.
+ *
+ * <p>Readers are bound to the {@link ObjectMapper} they were created from, so there is one table
+ * per mapper; connections created by the library all share the same mapper and thus the same table.
+ */
+final class RpcDispatchTable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RpcDispatchTable.class);
+    private static final Map<ObjectMapper, RpcDispatchTable> TABLES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Method FUTURE_GET;
+
+    static {
+        try {
+            FUTURE_GET = ListenableFuture.class.getMethod("get");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, Map<String, ResultDecoder>> resultDecoders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<String, CallbackHandler>> callbackHandlers = new ConcurrentHashMap<>();
+
+    private RpcDispatchTable(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    static RpcDispatchTable forMapper(ObjectMapper objectMapper) {
+        return TABLES.computeIfAbsent(objectMapper, RpcDispatchTable::new);
+    }
+
+    /**
+     * Returns the result decoders of the methods of an RPC proxy interface, keyed by method name.
+     * Methods that do not return a {@link ListenableFuture} have no entry.
+     */
+    Map<String, ResultDecoder> getResultDecoders(Class<?> rpcInterface) {
+        return resultDecoders.computeIfAbsent(rpcInterface, this::resolveResultDecoders);
+    }
+
+    /**
+     * Returns the handlers of a callback class, keyed by method name.
+     */
+    Map<String, CallbackHandler> getCallbackHandlers(Class<?> callbackClass) {
+        return callbackHandlers.computeIfAbsent(callbackClass, this::resolveCallbackHandlers);
+    }
+
+    private Map<String, ResultDecoder> resolveResultDecoders(Class<?> rpcInterface) {
+        Map<String, ResultDecoder> decoders = new HashMap<>();
+        for (Method method : rpcInterface.getMethods()) {
+            if (ListenableFuture.class == method.getReturnType()) {
+                JavaType javaType = objectMapper.getTypeFactory().constructType(
+                        TypeToken.of(method.getGenericReturnType())
+                                .resolveType(FUTURE_GET.getGenericReturnType()).getType());
+                decoders.put(method.getName(), new ResultDecoder(javaType, objectMapper.readerFor(javaType)));
+            }
+        }
+        LOG.debug("Resolved {} result decoders for {}", decoders.size(), rpcInterface.getName());
+        return decoders;
+    }
+
+    private Map<String, CallbackHandler> resolveCallbackHandlers(Class<?> callbackClass) {
+        Map<String, CallbackHandler> handlers = new HashMap<>();
+        for (Method method : callbackClass.getDeclaredMethods()) {
+            // handlers take the connection context and the notification parameters
+            if (method.isSynthetic() || method.getParameterCount() != 2 || handlers.containsKey(method.getName())) {
+                continue;
+            }
+            method.setAccessible(true);
+            try {
+                handlers.put(method.getName(), new CallbackHandler(method.getName(),
+                        MethodHandles.lookup().unreflect(method),
+                        objectMapper.readerFor(method.getParameterTypes()[1])));
+            } catch (IllegalAccessException e) {
+                LOG.warn("Unable to bind callback {} of {}", method.getName(), callbackClass.getName(), e);
+            }
+        }
+        LOG.debug("Resolved {} callback handlers for {}", handlers.size(), callbackClass.getName());
+        return handlers;
+    }
+
+    /**
+     * Decodes the result of a response into the type the RPC method's future is declared with.
+     */
+    static final class ResultDecoder {
+        private final ObjectReader reader;
+        private final boolean treeResult;
+        private final boolean parserResult;
+
+        ResultDecoder(JavaType type, ObjectReader reader) {
+            this.reader = reader;
+            this.treeResult = type.hasRawClass(JsonNode.class);
+            this.parserResult = type.hasRawClass(JsonParser.class);
+        }
+
+        Object decode(JsonNode result) throws IOException {
+            if (parserResult) {
+                return JsonRpcEndpoint.resultParser(result, reader);
+            }
+            if (treeResult || result == null) {
+                // the tree is already what the caller asked for, do not rebuild it
+                return result;
+            }
+            return result.isNull() ? null : reader.readValue(result);
+        }
+    }
+
+    /**
+     * Callback handler bound to its parameter reader.
+     */
+    static final class CallbackHandler {
+        private final String name;
+        private final MethodHandle handle;
+        private final ObjectReader paramReader;
+
+        CallbackHandler(String name, MethodHandle handle, ObjectReader paramReader) {
+            this.name = name;
+            this.handle = handle;
+            this.paramReader = paramReader;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        void invoke(Object callback, Object context, JsonNode params) {
+            try {
+                Object param = params == null || params.isNull() ? null : paramReader.readValue(params);
+                handle.invoke(callback, context, param);
+            } catch (Throwable e) {
+                LOG.error("Unable to invoke callback {}", name, e);
+            }
+        }
+    }
+}
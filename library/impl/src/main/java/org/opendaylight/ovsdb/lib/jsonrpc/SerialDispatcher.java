@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import io.netty.channel.Channel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serial executor of the messages of a single connection, running on a pool shared by all connections.
+ *
+ * <p>Tasks run one at a time and in submission order, so the notifications of a device are still
+ * processed in the order they were received, but off the Netty IO thread that also serves other devices.
+ * At most {@link #BATCH_SIZE} tasks are run before the dispatcher yields its pool thread to other
+ * connections.
+ *
+ * <p>The queue is bounded through the channel: when {@code maxQueueDepth} tasks are pending, reading from
+ * the channel is suspended, and it is resumed once the backlog has been worked down to half of that.
+ */
+public class SerialDispatcher implements Executor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SerialDispatcher.class);
+    private static final int BATCH_SIZE = 64;
+
+    private final Executor pool;
+    private final Channel channel;
+    private final int maxQueueDepth;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicLong executedTasks = new AtomicLong();
+
+    // guarded by this
+    private int queueDepth;
+    private int peakQueueDepth;
+    private boolean readSuspended;
+
+    public SerialDispatcher(Executor pool, Channel channel, int maxQueueDepth) {
+        this.pool = pool;
+        this.channel = channel;
+        this.maxQueueDepth = Math.max(maxQueueDepth, 1);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        synchronized (this) {
+            queueDepth++;
+            if (queueDepth > peakQueueDepth) {
+                peakQueueDepth = queueDepth;
+            }
+            if (!readSuspended && queueDepth >= maxQueueDepth) {
+                readSuspended = true;
+                channel.config().setAutoRead(false);
+                LOG.debug("Suspended reading from {}, {} messages pending", channel, queueDepth);
+            }
+        }
+        schedule();
+    }
+
+    public synchronized int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public synchronized int getPeakQueueDepth() {
+        return peakQueueDepth;
+    }
+
+    public synchronized boolean isReadSuspended() {
+        return readSuspended;
+    }
+
+    public long getExecutedTasks() {
+        return executedTasks.get();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            pool.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Failed to process message from {}", channel, e);
+                }
+                executedTasks.incrementAndGet();
+                completed();
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        if (!tasks.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private synchronized void completed() {
+        queueDepth--;
+        if (readSuspended && queueDepth <= maxQueueDepth / 2) {
+            readSuspended = false;
+            channel.config().setAutoRead(true);
+            LOG.debug("Resumed reading from {}, {} messages pending", channel, queueDepth);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.opendaylight.ovsdb.lib.error.InvalidEncodingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streaming variant of {@link JsonRpcDecoder}.
+ *
+ * <p>The framing state (nesting depth, string and escape state) is kept across reads, so every
+ * incoming byte is examined by the framer exactly once, no matter how many TCP segments a message
+ * spans. As soon as the root object closes, the frame is handed to Jackson straight from the
+ * buffer memory (the backing array for heap buffers) instead of being re-read through a
+ * per-frame encoding bootstrapper.
+ *
+ * <p>Jackson 2.7, which is what the platform ships, has no non-blocking parser, so the tree itself
+ * is still built once the frame is complete; the scanning work done before that is constant per byte.
+ * The {@code maxFrameLength} semantics are the same as for {@link JsonRpcDecoder}: exceeding it is
+ * reported once as a warning, the frame is still decoded.
+ *
+ * <p>In raw mode, responses and {@code update}/{@code update2} notifications are not decoded into a tree
+ * at all, but passed on as {@link RawJsonRpcMessage}s, so that their payload can be decoded from the token
+ * stream by the consumer, which knows the schema to decode it with.
+ */
+public class StreamingJsonRpcDecoder extends ByteToMessageDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingJsonRpcDecoder.class);
+    private static final JsonFactory JSON_FACTORY = new MappingJsonFactory();
+
+    private static final String UPDATE_METHOD = "update";
+    private static final String UPDATE2_METHOD = "update2";
+
+    private final int maxFrameLength;
+    private final boolean rawMessages;
+    //Indicates if the frame limit warning was issued
+    private boolean maxFrameLimitWasReached = false;
+
+    // framing state of the record being assembled; scanned is relative to the reader index
+    private int scanned = 0;
+    private int depth = 0;
+    private boolean inString = false;
+    private boolean escaped = false;
+
+    private int recordsRead;
+
+    public StreamingJsonRpcDecoder(int maxFrameLength) {
+        this(maxFrameLength, false);
+    }
+
+    public StreamingJsonRpcDecoder(int maxFrameLength, boolean rawMessages) {
+        this.maxFrameLength = maxFrameLength;
+        this.rawMessages = rawMessages;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf buf, List<Object> out) throws Exception {
+        LOG.trace("readable bytes {}, records read {}, incomplete record bytes {}",
+                buf.readableBytes(), recordsRead, scanned);
+
+        while (buf.isReadable()) {
+            if (scanned == 0 && !skipToRecordStart(buf)) {
+                return; //wait for more data
+            }
+
+            int start = buf.readerIndex();
+            int end = buf.writerIndex();
+            int index = start + scanned;
+            int frameEnd = -1;
+            for (; index < end; index++) {
+                byte ch = buf.getByte(index);
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (ch == '\\') {
+                        escaped = true;
+                    } else if (ch == '"') {
+                        inString = false;
+                    }
+                } else if (ch == '"') {
+                    inString = true;
+                } else if (ch == '{' || ch == '[') {
+                    depth++;
+                } else if ((ch == '}' || ch == ']') && --depth == 0) {
+                    frameEnd = index;
+                    break;
+                }
+            }
+
+            if (frameEnd < 0) {
+                scanned = end - start;
+                checkFrameLength(scanned);
+                return; //wait for more data
+            }
+
+            int length = frameEnd - start + 1;
+            checkFrameLength(length);
+            out.add(rawMessages ? parseRaw(buf.readSlice(length)) : parse(buf.readSlice(length)));
+            scanned = 0;
+            depth = 0;
+            recordsRead++;
+        }
+    }
+
+    public int getRecordsRead() {
+        return recordsRead;
+    }
+
+    private static JsonNode parse(ByteBuf frame) throws IOException {
+        JsonParser parser;
+        if (frame.hasArray()) {
+            parser = JSON_FACTORY.createParser(frame.array(), frame.arrayOffset() + frame.readerIndex(),
+                    frame.readableBytes());
+        } else {
+            parser = JSON_FACTORY.createParser((InputStream) new ByteBufInputStream(frame));
+        }
+        try {
+            return parser.readValueAsTree();
+        } finally {
+            parser.close();
+        }
+    }
+
+    private static Object parseRaw(ByteBuf frame) throws IOException {
+        RawJsonRpcMessage message = RawJsonRpcMessage.scan(ByteBufUtil.getBytes(frame));
+        if (message.isResponse() || UPDATE_METHOD.equals(message.getMethod())
+                || UPDATE2_METHOD.equals(message.getMethod())) {
+            return message;
+        }
+        return message.toTree();
+    }
+
+    /*
+     * Skips the whitespace preceding a record and checks its first byte. JSON-RPC messages are
+     * objects, so in UTF-8 the first significant byte is always '{'; a NUL or a UTF-16/32 byte
+     * order mark means the peer is using an encoding we do not support.
+     */
+    private static boolean skipToRecordStart(ByteBuf buf) {
+        while (buf.isReadable()) {
+            int ch = buf.getByte(buf.readerIndex()) & 0xFF;
+            switch (ch) {
+                case ' ':
+                case '\r':
+                case '\n':
+                case '\t':
+                    buf.skipBytes(1);
+                    break;
+                case 0x00:
+                case 0xFE:
+                case 0xFF:
+                    throw new InvalidEncodingException(ch == 0xFF ? "UTF-16LE" : "UTF-16BE",
+                            "currently only UTF-8 is supported");
+                default:
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkFrameLength(int length) {
+        //We do not want to issue a log message on every extent of the buffer
+        //hence logging only once
+        if (length >= maxFrameLength && !maxFrameLimitWasReached) {
+            maxFrameLimitWasReached = true;
+            LOG.warn("***** OVSDB Frame limit of {} bytes has been reached! *****", this.maxFrameLength);
+        }
+    }
+}
@@ -9,7 +9,9 @@ package org.opendaylight.ovsdb.lib.message;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
 import java.util.Set;
+import org.opendaylight.ovsdb.lib.notation.Condition;
 
 /**
  * MonitorRequest.
@@ -22,6 +24,7 @@ public class MonitorRequest {
     @JsonIgnore String tableName;
     Set<String> columns;
     MonitorSelect select;
+    List<Condition> where;
 
     public MonitorRequest() {
     }
@@ -51,6 +54,18 @@ public class MonitorRequest {
         this.select = select;
     }
 
+    /**
+     * Returns the conditions of a conditional monitor (monitor_cond) request: only the rows matching any
+     * of them are reported. Null for a plain monitor request.
+     */
+    public List<Condition> getWhere() {
+        return where;
+    }
+
+    public void setWhere(List<Condition> where) {
+        this.where = where;
+    }
+
     public Set<String> getColumns() {
         return columns;
     }
@@ -8,9 +8,11 @@
 
 package org.opendaylight.ovsdb.lib.message;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import org.opendaylight.ovsdb.lib.notation.Condition;
 import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
 import org.opendaylight.ovsdb.lib.schema.TableSchema;
 
@@ -19,6 +21,7 @@ public class MonitorRequestBuilder<E extends TableSchema<E>> {
     private final E tableSchema;
     private final Collection<String> columns = new HashSet<>();
     private MonitorSelect select;
+    private final List<Condition> conditions = new ArrayList<>();
 
     public MonitorRequestBuilder(E tableSchema) {
         this.tableSchema = tableSchema;
@@ -55,9 +58,26 @@ public class MonitorRequestBuilder<E extends TableSchema<E>> {
         return this;
     }
 
+    /**
+     * Adds a condition, making this a conditional monitor request. Rows matching any of the conditions
+     * are monitored.
+     */
+    public MonitorRequestBuilder<E> addCondition(Condition condition) {
+        this.conditions.add(condition);
+        return this;
+    }
+
+    public MonitorRequestBuilder<E> addConditions(Collection<Condition> conditions) {
+        this.conditions.addAll(conditions);
+        return this;
+    }
+
     public MonitorRequest build() {
         MonitorRequest request = new MonitorRequest(tableSchema.getName(), new HashSet<>(this.columns));
         request.setSelect(select == null ? new MonitorSelect() : select);
+        if (!conditions.isEmpty()) {
+            request.setWhere(new ArrayList<>(conditions));
+        }
         return request;
     }
 }
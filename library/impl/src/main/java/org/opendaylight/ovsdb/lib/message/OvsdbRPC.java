@@ -8,10 +8,12 @@
 
 package org.opendaylight.ovsdb.lib.message;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
 import org.opendaylight.ovsdb.lib.jsonrpc.Params;
+import org.opendaylight.ovsdb.lib.jsonrpc.RpcMethod;
 
 public interface OvsdbRPC {
 
@@ -24,6 +26,28 @@ public interface OvsdbRPC {
 
     ListenableFuture<JsonNode> monitor(Params equest);
 
+    /**
+     * Sends a monitor request, with its reply handed over as a parser positioned on the start of the
+     * {@code <table-updates>} object instead of a tree. The caller has to close the parser.
+     */
+    @RpcMethod("monitor")
+    ListenableFuture<JsonParser> monitorStreaming(Params request);
+
+    /**
+     * RFC 7047bis monitor_cond. The reply is in the {@code <table-updates2>} format.
+     */
+    ListenableFuture<JsonNode> monitor_cond(Params request);
+
+    /**
+     * RFC 7047bis monitor_cond_change, {@code [<monitor-id>, <new-monitor-id>, <monitor-cond-update>]}.
+     */
+    ListenableFuture<JsonNode> monitor_cond_change(Params request);
+
+    /**
+     * RFC 7047bis monitor_cond_since. The reply is {@code [<found>, <last-txn-id>, <table-updates2>]}.
+     */
+    ListenableFuture<JsonNode> monitor_cond_since(Params request);
+
     ListenableFuture<List<String>> list_dbs();
 
     ListenableFuture<List<JsonNode>> transact(TransactBuilder transact);
@@ -48,6 +72,20 @@ public interface OvsdbRPC {
 
         void stolen(Object context, List<String> ids);
 
+        /**
+         * update2 notification of a monitor_cond monitor, its updates are in the {@code <table-updates2>}
+         * format.
+         */
+        default void update2(Object context, UpdateNotification updateNotification) {
+        }
+
+        /**
+         * update3 notification of a monitor_cond_since monitor, its updates are in the
+         * {@code <table-updates2>} format.
+         */
+        default void update3(Object context, UpdateNotification updateNotification) {
+        }
+
         // ECHO is handled by JsonRPCEndpoint directly.
         // We can add Echo request here if there is a need for clients to handle it.
     }
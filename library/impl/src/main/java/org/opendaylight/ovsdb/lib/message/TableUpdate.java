@@ -68,6 +68,13 @@ public class TableUpdate<E extends TableSchema<E>> {
         rows.put(uuid, new RowUpdate<>(uuid, oldRow, newRow));
     }
 
+    /**
+     * Adds the row updates of another update of the table.
+     */
+    public void addRows(TableUpdate<E> other) {
+        rows.putAll(other.rows);
+    }
+
     public Row<E> getOld(UUID uuid) {
         RowUpdate<E> rowUpdate = rows.get(uuid);
         if (rowUpdate == null) {
@@ -8,6 +8,7 @@
 package org.opendaylight.ovsdb.lib.message;
 
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.opendaylight.ovsdb.lib.notation.json.Converter.UpdateNotificationConverter;
@@ -24,6 +25,8 @@ public class UpdateNotification {
     private DatabaseSchema databaseSchema;
     private TableUpdates update;
     private JsonNode updatesJson;
+    private JsonParser updatesParser;
+    private String lastTransactionId;
 
     public Object getContext() {
         return context;
@@ -54,6 +57,29 @@ public class UpdateNotification {
         return updatesJson;
     }
 
+    /**
+     * Sets the parser the table updates are to be read from, positioned on the start of the
+     * {@code <table-updates>} object, when they were not decoded into a tree.
+     */
+    public void setUpdatesParser(JsonParser updatesParser) {
+        this.updatesParser = updatesParser;
+    }
+
+    public JsonParser getUpdatesParser() {
+        return updatesParser;
+    }
+
+    /**
+     * Returns the id of the last transaction of an update3 notification, null for other notifications.
+     */
+    public String getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public void setLastTransactionId(String lastTransactionId) {
+        this.lastTransactionId = lastTransactionId;
+    }
+
     public DatabaseSchema getDatabaseSchema() {
         return databaseSchema;
     }
@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.notation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.ovsdb.lib.schema.ColumnOrdinals;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
+
+/**
+ * Row storing the values of its columns in an array indexed by the ordinals of the columns in the table
+ * (see {@link TableSchema#getColumnOrdinals()}), instead of a map of {@link Column}s. The rows decoded from
+ * the OVSDB server are compact rows.
+ *
+ * <p>A bitmask tells which columns are present, so that partial rows (e.g. the old rows of updates) are
+ * represented as well. The {@link Column}s returned by the accessors are created on demand: changing their
+ * data does not change the row, {@link #addColumn(String, Column)} does. Columns which are not in the
+ * schema the row was created with are kept apart.
+ *
+ * <p>The value of a column can also be left in its JSON form, see {@link #setColumnJson(ColumnSchema, JsonNode)},
+ * and is then only decoded the first time the column is read.
+ */
+public class CompactRow<E extends TableSchema<E>> extends Row<E> {
+
+    private final ColumnOrdinals ordinals;
+    private final Object[] values;
+    private final long[] present;
+    private Map<String, Column<E, ?>> extraColumns;
+
+    public CompactRow(TableSchema<E> tableSchema) {
+        super(tableSchema, (Map<String, Column<E, ?>>) null);
+        this.ordinals = tableSchema.getColumnOrdinals();
+        this.values = new Object[ordinals.size()];
+        this.present = new long[(ordinals.size() + 63) / 64];
+    }
+
+    public CompactRow(TableSchema<E> tableSchema, List<Column<E, ?>> columns) {
+        this(tableSchema);
+        for (Column<E, ?> column : columns) {
+            addColumn(column.getSchema().getName(), column);
+        }
+    }
+
+    /**
+     * Creates a row with the columns of another row.
+     */
+    public CompactRow(TableSchema<E> tableSchema, Row<E> row) {
+        super(tableSchema, (Map<String, Column<E, ?>>) null);
+        if (row instanceof CompactRow && ((CompactRow<E>) row).ordinals == tableSchema.getColumnOrdinals()) {
+            CompactRow<E> other = (CompactRow<E>) row;
+            this.ordinals = other.ordinals;
+            this.values = other.values.clone();
+            this.present = other.present.clone();
+            if (other.extraColumns != null) {
+                this.extraColumns = new HashMap<>(other.extraColumns);
+            }
+        } else {
+            this.ordinals = tableSchema.getColumnOrdinals();
+            this.values = new Object[ordinals.size()];
+            this.present = new long[(ordinals.size() + 63) / 64];
+            for (Column<E, ?> column : row.getColumns()) {
+                addColumn(column.getSchema().getName(), column);
+            }
+        }
+    }
+
+    /**
+     * Sets the value of a column.
+     */
+    public <D> void setColumn(ColumnSchema<E, D> schema, D data) {
+        int ordinal = ordinals.ordinal(schema.getName());
+        if (ordinal < 0) {
+            addExtraColumn(schema.getName(), new Column<>(schema, data));
+        } else {
+            values[ordinal] = data;
+            present[ordinal >>> 6] |= 1L << ordinal;
+        }
+    }
+
+    /**
+     * Sets the value of a column to its JSON encoding, decoded by the column schema when the column is first
+     * read. Columns which are not in the schema of the row are decoded right away.
+     */
+    public <D> void setColumnJson(ColumnSchema<E, D> schema, JsonNode json) {
+        int ordinal = ordinals.ordinal(schema.getName());
+        if (ordinal < 0) {
+            addExtraColumn(schema.getName(), new Column<>(schema, schema.valueFromJson(json)));
+        } else {
+            values[ordinal] = new UndecodedValue(json);
+            present[ordinal >>> 6] |= 1L << ordinal;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D> Column<E, D> getColumn(ColumnSchema<E, D> schema) {
+        int ordinal = ordinals.ordinal(schema.getName());
+        if (ordinal < 0) {
+            return extraColumns != null ? (Column<E, D>) extraColumns.get(schema.getName()) : null;
+        }
+        return isPresent(ordinal) ? column(ordinal) : null;
+    }
+
+    @Override
+    public Collection<Column<E, ?>> getColumns() {
+        List<Column<E, ?>> columns = new ArrayList<>(values.length);
+        for (int ordinal = 0; ordinal < values.length; ordinal++) {
+            if (isPresent(ordinal)) {
+                columns.add(column(ordinal));
+            }
+        }
+        if (extraColumns != null) {
+            columns.addAll(extraColumns.values());
+        }
+        return columns;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addColumn(String columnName, Column<E, ?> data) {
+        int ordinal = ordinals.ordinal(columnName);
+        if (ordinal < 0) {
+            addExtraColumn(columnName, data);
+        } else {
+            setColumn((ColumnSchema<E, Object>) ordinals.getColumnSchema(ordinal), data.getData());
+        }
+    }
+
+    @Override
+    protected Map<String, Column<E, ?>> columnMap() {
+        Map<String, Column<E, ?>> columns = new LinkedHashMap<>();
+        for (Column<E, ?> column : getColumns()) {
+            columns.put(column.getSchema().getName(), column);
+        }
+        return columns;
+    }
+
+    private boolean isPresent(int ordinal) {
+        return (present[ordinal >>> 6] & 1L << ordinal) != 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <D> Column<E, D> column(int ordinal) {
+        ColumnSchema<E, D> schema = (ColumnSchema<E, D>) ordinals.getColumnSchema(ordinal);
+        Object value = values[ordinal];
+        if (value instanceof UndecodedValue) {
+            value = ((UndecodedValue) value).decode(schema);
+        }
+        return new Column<>(schema, (D) value);
+    }
+
+    private void addExtraColumn(String columnName, Column<E, ?> column) {
+        if (extraColumns == null) {
+            extraColumns = new HashMap<>();
+        }
+        extraColumns.put(columnName, column);
+    }
+
+    /*
+     * JSON value of a column, decoded once. It stays in the values of the row rather than being replaced by
+     * the decoded value, as the copies of the row share it and rows may be read from several threads.
+     */
+    private static final class UndecodedValue {
+        private JsonNode json;
+        private Object value;
+
+        UndecodedValue(JsonNode json) {
+            this.json = json;
+        }
+
+        synchronized Object decode(ColumnSchema<?, ?> schema) {
+            if (json != null) {
+                value = schema.valueFromJson(json);
+                json = null;
+            }
+            return value;
+        }
+    }
+}
@@ -11,8 +11,15 @@ package org.opendaylight.ovsdb.lib.notation;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.collect.ForwardingMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import org.opendaylight.ovsdb.lib.notation.json.Converter;
 import org.opendaylight.ovsdb.lib.notation.json.OvsdbMapSerializer;
 
@@ -20,12 +27,23 @@ import org.opendaylight.ovsdb.lib.notation.json.OvsdbMapSerializer;
 @JsonSerialize(using = OvsdbMapSerializer.class)
 public class OvsdbMap<K, V> extends ForwardingMap<K, V> {
 
-    private final Map<K, V> target = new HashMap<>();
+    private final Map<K, V> target;
 
-    public OvsdbMap() {}
+    public OvsdbMap() {
+        this.target = new HashMap<>();
+    }
 
     public OvsdbMap(Map<K, V> value) {
-        this.target.putAll(value);
+        this(value, true);
+    }
+
+    private OvsdbMap(Map<K, V> value, boolean copy) {
+        this.target = copy ? new HashMap<>(value) : value;
+    }
+
+    // Wraps a map built by the Builder, without copying it
+    private static <K, V> OvsdbMap<K, V> wrap(Map<K, V> target) {
+        return new OvsdbMap<>(target, false);
     }
 
     @Override
@@ -36,4 +54,132 @@ public class OvsdbMap<K, V> extends ForwardingMap<K, V> {
     public static <K,V> OvsdbMap<K,V> fromMap(Map<K, V> value) {
         return new OvsdbMap<>(value);
     }
+
+    /**
+     * Returns an immutable map with the given entries, see {@link Builder}.
+     */
+    public static <K, V> OvsdbMap<K, V> compactCopyOf(Map<? extends K, ? extends V> value) {
+        Builder<K, V> builder = new Builder<>();
+        for (Map.Entry<? extends K, ? extends V> entry : value.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Builds immutable maps sized for their content, like {@link OvsdbSet.Builder}: empty and singleton maps,
+     * small maps backed by an array of keys and values, and hashed maps above that. When a key is put twice,
+     * the last value wins.
+     */
+    public static final class Builder<K, V> {
+        private Object[] keys = new Object[4];
+        private Object[] values = new Object[4];
+        private int size;
+
+        Builder() {
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size++] = value;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public OvsdbMap<K, V> build() {
+            if (size > OvsdbSet.ARRAY_THRESHOLD) {
+                Map<K, V> map = new HashMap<>(size * 2);
+                for (int i = 0; i < size; i++) {
+                    map.put((K) keys[i], (V) values[i]);
+                }
+                return wrap(Collections.unmodifiableMap(map));
+            }
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                int index = OvsdbSet.indexOf(keys, unique, keys[i]);
+                if (index >= 0) {
+                    values[index] = values[i];
+                } else {
+                    keys[unique] = keys[i];
+                    values[unique++] = values[i];
+                }
+            }
+            switch (unique) {
+                case 0:
+                    return wrap(Collections.emptyMap());
+                case 1:
+                    return wrap(Collections.singletonMap((K) keys[0], (V) values[0]));
+                default:
+                    return wrap(new ArrayMap<>(Arrays.copyOf(keys, unique), Arrays.copyOf(values, unique)));
+            }
+        }
+    }
+
+    private static final class ArrayMap<K, V> extends AbstractMap<K, V> {
+        private final Object[] keys;
+        private final Object[] values;
+
+        ArrayMap(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return OvsdbSet.indexOf(keys, keys.length, key) >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            int index = OvsdbSet.indexOf(keys, keys.length, key);
+            return index >= 0 ? (V) values[index] : null;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new Iterator<Entry<K, V>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public Entry<K, V> next() {
+                            if (next >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<K, V> entry = new SimpleImmutableEntry<>((K) keys[next], (V) values[next]);
+                            next++;
+                            return entry;
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
@@ -11,7 +11,14 @@ package org.opendaylight.ovsdb.lib.notation;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.collect.ForwardingSet;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import org.opendaylight.ovsdb.lib.notation.json.Converter;
 import org.opendaylight.ovsdb.lib.notation.json.OvsdbSetSerializer;
@@ -20,9 +27,14 @@ import org.opendaylight.ovsdb.lib.notation.json.OvsdbSetSerializer;
 @JsonSerialize(using = OvsdbSetSerializer.class)
 public class OvsdbSet<T> extends ForwardingSet<T> {
 
-    Set<T> target = new HashSet<>();
+    // Sizes up to which the compact sets are arrays searched linearly, rather than hashed
+    static final int ARRAY_THRESHOLD = 8;
 
-    public OvsdbSet() {}
+    final Set<T> target;
+
+    public OvsdbSet() {
+        this.target = new HashSet<>();
+    }
 
     public OvsdbSet(Set<T> backing) {
         this.target = backing;
@@ -36,4 +48,114 @@ public class OvsdbSet<T> extends ForwardingSet<T> {
     public static <D> OvsdbSet<D> fromSet(Set<D> value) {
         return new OvsdbSet<>(value);
     }
+
+    /**
+     * Returns an immutable set with the given elements, see {@link Builder}.
+     */
+    public static <D> OvsdbSet<D> compactCopyOf(Collection<? extends D> elements) {
+        Builder<D> builder = new Builder<>();
+        for (D element : elements) {
+            builder.add(element);
+        }
+        return builder.build();
+    }
+
+    public static <D> Builder<D> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Builds immutable sets sized for their content: most set columns hold no element, one or a few, so the
+     * empty and singleton sets are used for those, small sets are backed by an array, and only the larger ones
+     * are hashed. This is the form of the sets decoded from the OVSDB server.
+     */
+    public static final class Builder<T> {
+        private Object[] elements = new Object[4];
+        private int size;
+
+        Builder() {
+        }
+
+        public Builder<T> add(T element) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size++] = element;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public OvsdbSet<T> build() {
+            if (size > ARRAY_THRESHOLD) {
+                Set<T> set = new HashSet<>(size * 2);
+                for (int i = 0; i < size; i++) {
+                    set.add((T) elements[i]);
+                }
+                return new OvsdbSet<>(Collections.unmodifiableSet(set));
+            }
+            // the server does not send duplicates, but the set must not hold any
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (indexOf(elements, unique, elements[i]) < 0) {
+                    elements[unique++] = elements[i];
+                }
+            }
+            switch (unique) {
+                case 0:
+                    return new OvsdbSet<>(Collections.emptySet());
+                case 1:
+                    return new OvsdbSet<>(Collections.singleton((T) elements[0]));
+                default:
+                    return new OvsdbSet<>(new ArraySet<>(Arrays.copyOf(elements, unique)));
+            }
+        }
+    }
+
+    static int indexOf(Object[] array, int length, Object element) {
+        for (int i = 0; i < length; i++) {
+            if (Objects.equals(array[i], element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class ArraySet<T> extends AbstractSet<T> {
+        private final Object[] elements;
+
+        ArraySet(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean contains(Object element) {
+            return indexOf(elements, elements.length, element) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < elements.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (next >= elements.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return (T) elements[next++];
+                }
+            };
+        }
+    }
 }
@@ -22,21 +22,32 @@ import org.opendaylight.ovsdb.lib.schema.TableSchema;
 public class Row<E extends TableSchema<E>> {
     @JsonIgnore
     private TableSchema<E> tableSchema;
-    protected Map<String, Column<E, ?>> columns = new HashMap<>();
+    protected Map<String, Column<E, ?>> columns;
 
-    public Row() {}
+    public Row() {
+        this.columns = new HashMap<>();
+    }
 
     public Row(TableSchema<E> tableSchema) {
-        this.tableSchema = tableSchema;
+        this(tableSchema, new HashMap<>());
     }
 
     public Row(TableSchema<E> tableSchema, List<Column<E, ?>> columns) {
-        this.tableSchema = tableSchema;
+        this(tableSchema, new HashMap<>());
         for (Column<E, ?> column : columns) {
             this.columns.put(column.getSchema().getName(), column);
         }
     }
 
+    /**
+     * Creates a row storing its columns in the given map; subclasses storing them otherwise pass null, and
+     * override the accessors of the columns and {@link #columnMap()}.
+     */
+    protected Row(TableSchema<E> tableSchema, Map<String, Column<E, ?>> columns) {
+        this.tableSchema = tableSchema;
+        this.columns = columns;
+    }
+
     public <D> Column<E, D> getColumn(ColumnSchema<E, D> schema) {
         return (Column<E, D>) columns.get(schema.getName());
     }
@@ -57,9 +68,16 @@ public class Row<E extends TableSchema<E>> {
         this.tableSchema = tableSchema;
     }
 
+    /**
+     * Returns the columns of the row by name, for comparisons.
+     */
+    protected Map<String, Column<E, ?>> columnMap() {
+        return columns;
+    }
+
     @Override
     public String toString() {
-        return "Row [columns=" + columns + "]";
+        return "Row [columns=" + columnMap() + "]";
     }
 
     /**
@@ -72,7 +90,8 @@ public class Row<E extends TableSchema<E>> {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((columns == null) ? 0 : columns.hashCode());
+        Map<String, Column<E, ?>> columnMap = columnMap();
+        result = prime * result + ((columnMap == null) ? 0 : columnMap.hashCode());
         return result;
     }
 
@@ -90,15 +109,17 @@ public class Row<E extends TableSchema<E>> {
         if (obj == null) {
             return false;
         }
-        if (getClass() != obj.getClass()) {
+        // rows compare by their columns whatever the way they store them
+        if (!(obj instanceof Row)) {
             return false;
         }
-        Row other = (Row) obj;
-        if (columns == null) {
-            if (other.columns != null) {
+        Map<String, Column<E, ?>> columnMap = columnMap();
+        Map<String, Column<E, ?>> otherColumnMap = ((Row<E>) obj).columnMap();
+        if (columnMap == null) {
+            if (otherColumnMap != null) {
                 return false;
             }
-        } else if (!columns.equals(other.columns)) {
+        } else if (!columnMap.equals(otherColumnMap)) {
             return false;
         }
         return true;
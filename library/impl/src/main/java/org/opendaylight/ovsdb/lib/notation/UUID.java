@@ -7,35 +7,94 @@
  */
 package org.opendaylight.ovsdb.lib.notation;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
 import org.opendaylight.ovsdb.lib.notation.json.UUIDSerializer;
 import org.opendaylight.ovsdb.lib.notation.json.UUIDStringConverter;
 
 /**
  * Handles both uuid and named-uuid.
+ *
+ * <p>UUIDs in the canonical (lower case) form are stored as two longs, and formatted when needed; other
+ * values, i.e. the names of named-uuids, are kept as is.
  */
 @JsonDeserialize(contentConverter = UUIDStringConverter.class)
 @JsonSerialize(using = UUIDSerializer.class)
 public class UUID {
 
-    String val;
+    private static final int LENGTH = 36;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // the value when it is not a canonical uuid, null otherwise
+    private final String val;
+    private final long mostSigBits;
+    private final long leastSigBits;
 
     public UUID(String value) {
-        this.val = value;
+        if (value != null && isCanonical(value)) {
+            this.val = null;
+            this.mostSigBits = parseBits(value, 0, 18);
+            this.leastSigBits = parseBits(value, 19, LENGTH);
+        } else {
+            this.val = value;
+            this.mostSigBits = 0;
+            this.leastSigBits = 0;
+        }
+    }
+
+    public UUID(long mostSigBits, long leastSigBits) {
+        this.val = null;
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+    }
+
+    /**
+     * Returns the UUID of a value, shared with the other references to it if the connection decoding it
+     * interns UUIDs, see {@link UuidInterner}.
+     */
+    public static UUID valueOf(String value) {
+        return UuidInterner.internCurrent(new UUID(value));
+    }
+
+    /**
+     * Reads the UUID of the current string or field name token of a parser, from the characters of the token
+     * rather than a string. Like {@link #valueOf(String)}, the UUID is interned if the connection does.
+     */
+    public static UUID fromJson(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        UUID uuid;
+        CharArraySequence sequence = length == LENGTH ? new CharArraySequence(chars, offset) : null;
+        if (sequence != null && isCanonical(sequence)) {
+            uuid = new UUID(parseBits(sequence, 0, 18), parseBits(sequence, 19, LENGTH));
+        } else {
+            uuid = new UUID(new String(chars, offset, length));
+        }
+        return UuidInterner.internCurrent(uuid);
     }
 
     @Override
     public String toString() {
-        return val;
+        if (val != null) {
+            return val;
+        }
+        char[] chars = new char[LENGTH];
+        formatBits(mostSigBits, chars, 0, 18);
+        chars[18] = '-';
+        formatBits(leastSigBits, chars, 19, LENGTH);
+        return new String(chars);
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((val == null) ? 0 : val.hashCode());
-        return result;
+        if (val != null) {
+            return val.hashCode();
+        }
+        long bits = mostSigBits ^ leastSigBits;
+        return (int) (bits >> 32) ^ (int) bits;
     }
 
     @Override
@@ -57,6 +116,76 @@ public class UUID {
         } else if (!val.equals(other.val)) {
             return false;
         }
+        return mostSigBits == other.mostSigBits && leastSigBits == other.leastSigBits;
+    }
+
+    /*
+     * 8-4-4-4-12 lower case hexadecimal digits; the upper case form is kept as a string, so that toString()
+     * gives back the received value.
+     */
+    private static boolean isCanonical(CharSequence value) {
+        if (value.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char ch = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (ch != '-') {
+                    return false;
+                }
+            } else if ((ch < '0' || ch > '9') && (ch < 'a' || ch > 'f')) {
+                return false;
+            }
+        }
         return true;
     }
+
+    // Parses the 16 digits of a half, 8-4-4 or 4-12, skipping the dashes
+    private static long parseBits(CharSequence value, int start, int end) {
+        long bits = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch != '-') {
+                bits = bits << 4 | Character.digit(ch, 16);
+            }
+        }
+        return bits;
+    }
+
+    private static void formatBits(long bits, char[] chars, int start, int end) {
+        int shift = 60;
+        for (int i = start; i < end; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                chars[i] = '-';
+            } else {
+                chars[i] = HEX_DIGITS[(int) (bits >>> shift) & 0xf];
+                shift -= 4;
+            }
+        }
+    }
+
+    private static final class CharArraySequence implements CharSequence {
+        private final char[] chars;
+        private final int offset;
+
+        CharArraySequence(char[] chars, int offset) {
+            this.chars = chars;
+            this.offset = offset;
+        }
+
+        @Override
+        public int length() {
+            return LENGTH;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, offset + start, end - start);
+        }
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.notation;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Intern table of the UUIDs decoded for a connection, so that the many references to the same rows (ports of
+ * the bridges, interfaces of the ports, keys of the updates...) share a single instance. The table holds the
+ * UUIDs weakly, they are dropped once no row references them anymore.
+ *
+ * <p>The decoding code does not know the connection it works for: a connection interning its UUIDs makes its
+ * table current while it decodes, see {@link #enter(UuidInterner)}, and {@link UUID#valueOf(String)} and
+ * {@link UUID#fromJson(com.fasterxml.jackson.core.JsonParser)} use the current table if there is one.
+ */
+public final class UuidInterner {
+
+    private static final ThreadLocal<UuidInterner> CURRENT = new ThreadLocal<>();
+
+    private final Interner<UUID> interner = Interners.newWeakInterner();
+
+    /**
+     * Returns the instance of a UUID held by the table.
+     */
+    public UUID intern(UUID uuid) {
+        return interner.intern(uuid);
+    }
+
+    /**
+     * Makes an intern table current for the calling thread, until the returned scope is closed.
+     *
+     * @param interner the table, null to make no table current
+     */
+    public static Scope enter(UuidInterner interner) {
+        UuidInterner previous = CURRENT.get();
+        if (interner != previous) {
+            setCurrent(interner);
+        }
+        return new Scope(previous);
+    }
+
+    static UUID internCurrent(UUID uuid) {
+        UuidInterner current = CURRENT.get();
+        return current != null ? current.intern(uuid) : uuid;
+    }
+
+    private static void setCurrent(UuidInterner interner) {
+        if (interner != null) {
+            CURRENT.set(interner);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Scope of a current intern table, restoring the previous one when closed.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final UuidInterner previous;
+
+        Scope(UuidInterner previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            setCurrent(previous);
+        }
+    }
+}
@@ -107,6 +107,13 @@ public class Converter {
                 un.setUpdate(updates);
                 return un;
             }
+            if (node.isArray() && node.size() == 3) {
+                // update3: [<monitor-id>, <last-txn-id>, <table-updates2>]
+                un.setContext(node.get(0).asText());
+                un.setLastTransactionId(node.get(1).asText());
+                un.setUpdates(node.get(2));
+                return un;
+            }
             return null;
         }
     }
@@ -133,7 +140,7 @@ public class Converter {
 
             if (node.isArray() && node.get(0).isTextual()
                     && ("uuid".equals(node.get(0).asText()) || "named-uuid".equals(node.get(0).asText()))) {
-                return new UUID(node.get(1).asText());
+                return UUID.valueOf(node.get(1).asText());
             }
 
             throw new IllegalArgumentException("not an atom node");
@@ -15,7 +15,7 @@ public class UUIDStringConverter extends StdConverter<String, UUID> {
 
     @Override
     public UUID convert(String value) {
-        return new UUID(value);
+        return UUID.valueOf(value);
     }
 
 }
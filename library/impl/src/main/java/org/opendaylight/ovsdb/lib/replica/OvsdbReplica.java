@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.replica;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.opendaylight.ovsdb.lib.MonitorCallBack;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory replica of the tables monitored on an OVSDB server, kept up to date by the monitor updates, like
+ * the IDL of the OVS C and python libraries. It lets applications query the current state of the device
+ * without a select transaction to the switch or a read of the datastore.
+ *
+ * <p>The replica is a {@link MonitorCallBack}. The initial rows are returned by the monitor request rather than
+ * sent to the callback, and the server may send updates before the caller gets them, so the replica sends the
+ * request itself and holds the updates back until the initial rows are applied:
+ * <pre>
+ * OvsdbReplica replica = new OvsdbReplica(listener, ReplicaIndex.byColumn("Bridge", "name"));
+ * replica.monitor(dbSchema, callback -&gt; client.monitor(dbSchema, requests, callback));
+ * </pre>
+ * The updates are passed on to the listener, if any, once applied, so that the listener sees the replica
+ * in the state following the update.
+ *
+ * <p>Reads go through {@link #snapshot()}, which is lock free and gives a consistent view of all the
+ * tables. Each update creates a new snapshot, sharing the tables it does not change, and all but the
+ * changed rows and index entries of the others.
+ */
+public class OvsdbReplica implements MonitorCallBack {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OvsdbReplica.class);
+
+    private final MonitorCallBack listener;
+    private final Map<String, List<ReplicaIndex>> indexes = new HashMap<>();
+    private volatile ReplicaSnapshot snapshot = ReplicaSnapshot.EMPTY;
+    // Guarded by this, the updates received before the initial rows, null once they are applied
+    private List<TableUpdates> heldUpdates;
+
+    /**
+     * Creates a replica.
+     *
+     * @param listener the callback to pass the updates to once applied, may be null
+     * @param indexes the secondary indexes to maintain
+     */
+    public OvsdbReplica(MonitorCallBack listener, ReplicaIndex... indexes) {
+        this.listener = listener;
+        for (ReplicaIndex index : indexes) {
+            this.indexes.computeIfAbsent(index.getTableName(), name -> new ArrayList<>()).add(index);
+        }
+    }
+
+    /**
+     * Returns the current state of the replica.
+     */
+    public ReplicaSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Sends a monitor request with the replica as callback, and applies the initial rows it returns before
+     * the updates received meanwhile.
+     *
+     * @param dbSchema the schema of the monitored database
+     * @param monitor sends the monitor request with the given callback, and returns the initial rows, e.g.
+     *     {@code callback -> client.monitor(dbSchema, requests, callback)}
+     * @return the initial rows
+     */
+    public TableUpdates monitor(DatabaseSchema dbSchema, Function<MonitorCallBack, TableUpdates> monitor) {
+        synchronized (this) {
+            heldUpdates = new ArrayList<>();
+        }
+        TableUpdates initial = null;
+        try {
+            initial = monitor.apply(this);
+        } finally {
+            synchronized (this) {
+                // applied and passed on under the lock, so that no later update overtakes them
+                apply(initial, dbSchema);
+                for (TableUpdates held : heldUpdates) {
+                    apply(held, dbSchema);
+                }
+                heldUpdates = null;
+            }
+        }
+        return initial;
+    }
+
+    /**
+     * Applies monitor updates to the replica: new rows replace the known ones, and rows without a new
+     * version are removed. The updates received while {@link #monitor} waits for the initial rows are
+     * applied after them.
+     */
+    @Override
+    public void update(TableUpdates result, DatabaseSchema dbSchema) {
+        synchronized (this) {
+            if (heldUpdates != null) {
+                if (result != null) {
+                    heldUpdates.add(result);
+                }
+                return;
+            }
+        }
+        apply(result, dbSchema);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(TableUpdates result, DatabaseSchema dbSchema) {
+        if (result == null) {
+            return;
+        }
+        synchronized (this) {
+            Map<String, Map<UUID, Row<GenericTableSchema>>> changes = new HashMap<>();
+            for (Map.Entry<String, TableUpdate> tableUpdate : result.getUpdates().entrySet()) {
+                Map<UUID, Row<GenericTableSchema>> tableChanges = new HashMap<>();
+                for (TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema> rowUpdate
+                        : ((TableUpdate<GenericTableSchema>) tableUpdate.getValue()).getRows().values()) {
+                    tableChanges.put(rowUpdate.getUuid(), rowUpdate.getNew());
+                }
+                changes.put(tableUpdate.getKey(), tableChanges);
+            }
+            snapshot = snapshot.next(changes, indexes);
+            LOG.trace("Applied updates of {} tables, replica version {}", changes.size(), snapshot.getVersion());
+        }
+        if (listener != null) {
+            listener.update(result, dbSchema);
+        }
+    }
+
+    @Override
+    public void exception(Throwable throwable) {
+        if (listener != null) {
+            listener.exception(throwable);
+        }
+    }
+
+    /**
+     * Empties the replica, e.g. before monitoring again after a reconnection.
+     */
+    public synchronized void clear() {
+        snapshot = ReplicaSnapshot.EMPTY;
+    }
+}
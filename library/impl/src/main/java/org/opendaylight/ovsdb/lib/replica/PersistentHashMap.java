@@ -0,0 +1,294 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.replica;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable hash map whose versions share their structure, a hash trie of 32 way branches: {@link #with} and
+ * {@link #without} copy the branches on the path to the key only, so a change costs O(log n) whatever the size
+ * of the map, and leaves the previous version unchanged.
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(null, 0);
+
+    // null, a Leaf, a Collision or a Branch
+    private final Object root;
+    private final int size;
+
+    private PersistentHashMap(Object root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public V get(Object key) {
+        Leaf<K, V> leaf = find(key);
+        return leaf == null ? null : leaf.getValue();
+    }
+
+    /**
+     * Returns this map with a key mapped to a value.
+     */
+    PersistentHashMap<K, V> with(K key, V value) {
+        Leaf<K, V> leaf = new Leaf<>(hash(key), key, value);
+        boolean[] added = new boolean[1];
+        Object nextRoot = put(root, 0, leaf, added);
+        return nextRoot == root ? this : new PersistentHashMap<>(nextRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns this map without a key.
+     */
+    PersistentHashMap<K, V> without(Object key) {
+        Object nextRoot = remove(root, 0, hash(key), key);
+        return nextRoot == root ? this : new PersistentHashMap<>(nextRoot, size - 1);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new LeafIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Leaf<K, V> find(Object key) {
+        int hash = hash(key);
+        Object node = root;
+        for (int shift = 0; node instanceof Branch; shift += BITS) {
+            node = ((Branch) node).children[hash >>> shift & MASK];
+        }
+        if (node instanceof Leaf) {
+            Leaf<K, V> leaf = (Leaf<K, V>) node;
+            return leaf.hash == hash && Objects.equals(leaf.getKey(), key) ? leaf : null;
+        }
+        if (node instanceof Collision && ((Collision) node).hash == hash) {
+            for (Leaf<?, ?> leaf : ((Collision) node).leaves) {
+                if (Objects.equals(leaf.getKey(), key)) {
+                    return (Leaf<K, V>) leaf;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Object put(Object node, int shift, Leaf<?, ?> leaf, boolean[] added) {
+        if (node == null) {
+            added[0] = true;
+            return leaf;
+        }
+        if (node instanceof Branch) {
+            Object[] children = ((Branch) node).children;
+            int index = leaf.hash >>> shift & MASK;
+            Object child = put(children[index], shift + BITS, leaf, added);
+            if (child == children[index]) {
+                return node;
+            }
+            Object[] nextChildren = children.clone();
+            nextChildren[index] = child;
+            return new Branch(nextChildren);
+        }
+        int hash = node instanceof Leaf ? ((Leaf<?, ?>) node).hash : ((Collision) node).hash;
+        if (hash != leaf.hash) {
+            // the hashes differ in the bits of this level or the next ones
+            Object[] children = new Object[1 << BITS];
+            children[hash >>> shift & MASK] = node;
+            return put(new Branch(children), shift, leaf, added);
+        }
+        Leaf<?, ?>[] leaves = node instanceof Leaf ? new Leaf<?, ?>[] {(Leaf<?, ?>) node} : ((Collision) node).leaves;
+        for (int i = 0; i < leaves.length; i++) {
+            if (Objects.equals(leaves[i].getKey(), leaf.getKey())) {
+                if (leaves[i].getValue() == leaf.getValue()) {
+                    return node;
+                }
+                if (leaves.length == 1) {
+                    return leaf;
+                }
+                Leaf<?, ?>[] nextLeaves = leaves.clone();
+                nextLeaves[i] = leaf;
+                return new Collision(hash, nextLeaves);
+            }
+        }
+        added[0] = true;
+        Leaf<?, ?>[] nextLeaves = Arrays.copyOf(leaves, leaves.length + 1);
+        nextLeaves[leaves.length] = leaf;
+        return new Collision(hash, nextLeaves);
+    }
+
+    private static Object remove(Object node, int shift, int hash, Object key) {
+        if (node instanceof Branch) {
+            Object[] children = ((Branch) node).children;
+            int index = hash >>> shift & MASK;
+            Object child = remove(children[index], shift + BITS, hash, key);
+            if (child == children[index]) {
+                return node;
+            }
+            Object[] nextChildren = children.clone();
+            nextChildren[index] = child;
+            // a branch left with a single leaf or collision is replaced by it
+            Object single = null;
+            for (Object nextChild : nextChildren) {
+                if (nextChild != null) {
+                    if (single != null || nextChild instanceof Branch) {
+                        return new Branch(nextChildren);
+                    }
+                    single = nextChild;
+                }
+            }
+            return single;
+        }
+        if (node instanceof Leaf) {
+            Leaf<?, ?> leaf = (Leaf<?, ?>) node;
+            return leaf.hash == hash && Objects.equals(leaf.getKey(), key) ? null : node;
+        }
+        if (node instanceof Collision && ((Collision) node).hash == hash) {
+            Leaf<?, ?>[] leaves = ((Collision) node).leaves;
+            for (int i = 0; i < leaves.length; i++) {
+                if (Objects.equals(leaves[i].getKey(), key)) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    Leaf<?, ?>[] nextLeaves = new Leaf<?, ?>[leaves.length - 1];
+                    System.arraycopy(leaves, 0, nextLeaves, 0, i);
+                    System.arraycopy(leaves, i + 1, nextLeaves, i, leaves.length - i - 1);
+                    return new Collision(hash, nextLeaves);
+                }
+            }
+        }
+        return node;
+    }
+
+    private static int hash(Object key) {
+        int hash = Objects.hashCode(key);
+        return hash ^ hash >>> 16;
+    }
+
+    private static final class Leaf<K, V> extends SimpleImmutableEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int hash;
+
+        Leaf(int hash, K key, V value) {
+            super(key, value);
+            this.hash = hash;
+        }
+    }
+
+    private static final class Collision {
+        private final int hash;
+        private final Leaf<?, ?>[] leaves;
+
+        Collision(int hash, Leaf<?, ?>[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+    }
+
+    private static final class Branch {
+        private final Object[] children;
+
+        Branch(Object[] children) {
+            this.children = children;
+        }
+    }
+
+    /**
+     * Walks the trie depth first, keeping the path to the next leaf.
+     */
+    private static final class LeafIterator<K, V> implements Iterator<Entry<K, V>> {
+        // levels of 5 bits over 32 bit hashes, and the collisions below them
+        private final Object[][] nodes = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Leaf<K, V> next;
+
+        LeafIterator(Object root) {
+            if (root != null) {
+                push(root);
+                advance();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Leaf<K, V> leaf = next;
+            advance();
+            return leaf;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                if (positions[depth] == nodes[depth].length) {
+                    depth--;
+                    continue;
+                }
+                Object node = nodes[depth][positions[depth]++];
+                if (node instanceof Leaf) {
+                    next = (Leaf<K, V>) node;
+                    return;
+                }
+                if (node != null) {
+                    push(node);
+                }
+            }
+        }
+
+        private void push(Object node) {
+            depth++;
+            nodes[depth] = node instanceof Branch ? ((Branch) node).children
+                    : node instanceof Collision ? ((Collision) node).leaves : new Object[] {node};
+            positions[depth] = 0;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.replica;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+
+/**
+ * Secondary index of a table of an {@link OvsdbReplica}. The index maps the keys extracted from a column of
+ * the rows to the rows, see {@link ReplicaSnapshot#lookup(ReplicaIndex, Object)}.
+ *
+ * <p>Indexes are compared by identity; the instances passed to the replica are the ones to look up with.
+ */
+public final class ReplicaIndex {
+
+    private final String tableName;
+    private final String columnName;
+    private final Function<Object, Collection<?>> keys;
+    private final String description;
+
+    private ReplicaIndex(String tableName, String columnName, Function<Object, Collection<?>> keys,
+            String description) {
+        this.tableName = tableName;
+        this.columnName = columnName;
+        this.keys = keys;
+        this.description = description;
+    }
+
+    /**
+     * Indexes the rows by the value of a column, e.g. the name of the bridges. For a set column, the rows
+     * are indexed by each element of the set.
+     */
+    public static ReplicaIndex byColumn(String tableName, String columnName) {
+        return new ReplicaIndex(tableName, columnName, ReplicaIndex::elements,
+                tableName + "." + columnName);
+    }
+
+    /**
+     * Indexes the rows by the value of a key of a map column, e.g. the "iface-id" of the external_ids of the
+     * interfaces. Rows without the key are not indexed.
+     */
+    public static ReplicaIndex byMapKey(String tableName, String columnName, Object key) {
+        return new ReplicaIndex(tableName, columnName, data -> data instanceof Map && ((Map<?, ?>) data)
+                .containsKey(key) ? Collections.singletonList(((Map<?, ?>) data).get(key)) : Collections.emptyList(),
+                tableName + "." + columnName + "[" + key + "]");
+    }
+
+    /**
+     * Indexes the rows by the UUIDs they reference through a column, e.g. the ports by their interfaces.
+     * The UUIDs of a set, and the keys and values of a map, are all indexed.
+     */
+    public static ReplicaIndex byReference(String tableName, String columnName) {
+        return new ReplicaIndex(tableName, columnName, ReplicaIndex::references,
+                tableName + "." + columnName + " references");
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    Collection<?> keys(Object data) {
+        return data == null ? Collections.emptyList() : keys.apply(data);
+    }
+
+    private static Collection<?> elements(Object data) {
+        return data instanceof Collection ? (Collection<?>) data : Collections.singletonList(data);
+    }
+
+    private static Collection<?> references(Object data) {
+        List<UUID> uuids = new ArrayList<>();
+        Collection<?> candidates;
+        if (data instanceof Map) {
+            List<Object> entries = new ArrayList<>(((Map<?, ?>) data).keySet());
+            entries.addAll(((Map<?, ?>) data).values());
+            candidates = entries;
+        } else {
+            candidates = elements(data);
+        }
+        for (Object candidate : candidates) {
+            if (candidate instanceof UUID) {
+                uuids.add((UUID) candidate);
+            }
+        }
+        return uuids;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicaIndex [" + description + "]";
+    }
+}
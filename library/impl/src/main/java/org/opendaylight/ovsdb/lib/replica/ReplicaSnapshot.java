@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.replica;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+/**
+ * Immutable state of an {@link OvsdbReplica}, as of a given monitor update. All the reads of a snapshot are
+ * consistent with each other, however many updates the replica applies meanwhile.
+ */
+public final class ReplicaSnapshot {
+
+    static final ReplicaSnapshot EMPTY = new ReplicaSnapshot(0, Collections.emptyMap());
+
+    private final long version;
+    private final Map<String, TableState> tables;
+
+    private ReplicaSnapshot(long version, Map<String, TableState> tables) {
+        this.version = version;
+        this.tables = tables;
+    }
+
+    /**
+     * Returns the number of updates applied to the replica up to this snapshot, since it was last cleared.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the rows of a table, by UUID.
+     */
+    public Map<UUID, Row<GenericTableSchema>> getRows(String tableName) {
+        TableState table = tables.get(tableName);
+        return table == null ? Collections.emptyMap() : table.rows;
+    }
+
+    public Row<GenericTableSchema> getRow(String tableName, UUID uuid) {
+        TableState table = tables.get(tableName);
+        return table == null ? null : table.rows.get(uuid);
+    }
+
+    /**
+     * Returns the rows of the table of an index matching a key, e.g. the bridges named "br-int" or the ports
+     * referencing a given interface.
+     *
+     * @throws IllegalArgumentException if the index is not one of the replica
+     */
+    public Collection<Row<GenericTableSchema>> lookup(ReplicaIndex index, Object key) {
+        TableState table = tables.get(index.getTableName());
+        PersistentHashMap<Object, PersistentHashMap<UUID, Boolean>> entries =
+                table == null ? null : table.indexes.get(index);
+        if (entries == null) {
+            if (table == null) {
+                return Collections.emptyList();
+            }
+            throw new IllegalArgumentException("Unknown index " + index);
+        }
+        PersistentHashMap<UUID, Boolean> uuids = entries.get(key);
+        if (uuids == null) {
+            return Collections.emptyList();
+        }
+        List<Row<GenericTableSchema>> rows = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids.keySet()) {
+            rows.add(table.rows.get(uuid));
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the UUIDs of the rows of the table of an index matching a key.
+     */
+    public Set<UUID> lookupUuids(ReplicaIndex index, Object key) {
+        TableState table = tables.get(index.getTableName());
+        PersistentHashMap<Object, PersistentHashMap<UUID, Boolean>> entries =
+                table == null ? null : table.indexes.get(index);
+        PersistentHashMap<UUID, Boolean> uuids = entries == null ? null : entries.get(key);
+        return uuids == null ? Collections.emptySet() : uuids.keySet();
+    }
+
+    /**
+     * Creates the snapshot following this one, sharing the state of the tables the changes do not touch.
+     *
+     * @param changes the new rows, null for the deleted ones, by UUID and table name
+     * @param indexes the indexes of the replica, by table name
+     */
+    ReplicaSnapshot next(Map<String, Map<UUID, Row<GenericTableSchema>>> changes,
+            Map<String, List<ReplicaIndex>> indexes) {
+        Map<String, TableState> nextTables = new HashMap<>(tables);
+        for (Map.Entry<String, Map<UUID, Row<GenericTableSchema>>> change : changes.entrySet()) {
+            TableState table = tables.get(change.getKey());
+            List<ReplicaIndex> tableIndexes = indexes.getOrDefault(change.getKey(), Collections.emptyList());
+            nextTables.put(change.getKey(), (table != null ? table : new TableState(tableIndexes))
+                    .next(change.getValue(), tableIndexes));
+        }
+        return new ReplicaSnapshot(version + 1, nextTables);
+    }
+
+    /*
+     * Rows and indexes of a table. Never modified once published: the maps are persistent, the next state
+     * shares all but the paths to the rows and index entries it changes.
+     */
+    private static final class TableState {
+        private final PersistentHashMap<UUID, Row<GenericTableSchema>> rows;
+        private final Map<ReplicaIndex, PersistentHashMap<Object, PersistentHashMap<UUID, Boolean>>> indexes;
+
+        TableState(List<ReplicaIndex> tableIndexes) {
+            rows = PersistentHashMap.empty();
+            indexes = new HashMap<>();
+            for (ReplicaIndex index : tableIndexes) {
+                indexes.put(index, PersistentHashMap.empty());
+            }
+        }
+
+        TableState(PersistentHashMap<UUID, Row<GenericTableSchema>> rows,
+                Map<ReplicaIndex, PersistentHashMap<Object, PersistentHashMap<UUID, Boolean>>> indexes) {
+            this.rows = rows;
+            this.indexes = indexes;
+        }
+
+        TableState next(Map<UUID, Row<GenericTableSchema>> changes, List<ReplicaIndex> tableIndexes) {
+            Map<ReplicaIndex, PersistentHashMap<Object, PersistentHashMap<UUID, Boolean>>> nextIndexes =
+                    new HashMap<>();
+            for (ReplicaIndex index : tableIndexes) {
+                PersistentHashMap<Object, PersistentHashMap<UUID, Boolean>> entries =
+                        indexes.getOrDefault(index, PersistentHashMap.empty());
+                for (Map.Entry<UUID, Row<GenericTableSchema>> change : changes.entrySet()) {
+                    for (Object key : index.keys(data(rows.get(change.getKey()), index))) {
+                        PersistentHashMap<UUID, Boolean> uuids = entries.get(key);
+                        if (uuids != null) {
+                            uuids = uuids.without(change.getKey());
+                            entries = uuids.isEmpty() ? entries.without(key) : entries.with(key, uuids);
+                        }
+                    }
+                    for (Object key : index.keys(data(change.getValue(), index))) {
+                        PersistentHashMap<UUID, Boolean> uuids = entries.get(key);
+                        entries = entries.with(key, (uuids != null ? uuids : PersistentHashMap.<UUID, Boolean>empty())
+                                .with(change.getKey(), Boolean.TRUE));
+                    }
+                }
+                nextIndexes.put(index, entries);
+            }
+            PersistentHashMap<UUID, Row<GenericTableSchema>> nextRows = rows;
+            for (Map.Entry<UUID, Row<GenericTableSchema>> change : changes.entrySet()) {
+                nextRows = change.getValue() != null ? nextRows.with(change.getKey(), change.getValue())
+                        : nextRows.without(change.getKey());
+            }
+            return new TableState(nextRows, nextIndexes);
+        }
+
+        private static Object data(Row<GenericTableSchema> row, ReplicaIndex index) {
+            if (row == null) {
+                return null;
+            }
+            for (Column<GenericTableSchema, ?> column : row.getColumns()) {
+                if (column.getSchema().getName().equals(index.getColumnName())) {
+                    return column.getData();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -8,7 +8,10 @@
 
 package org.opendaylight.ovsdb.lib.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -80,8 +83,32 @@ public abstract class BaseType<E extends BaseType<E>> {
 
     public abstract Object toValue(JsonNode value);
 
+    /**
+     * Reads a value straight from a token stream, with the same result as {@link #toValue(JsonNode)}.
+     * The parser must be positioned on the first token of the value, and is left on its last token.
+     * Types that do not read the tokens themselves read the value as a tree.
+     */
+    public Object toValue(JsonParser parser) throws IOException {
+        return toValue((JsonNode) parser.readValueAsTree());
+    }
+
     public abstract void validate(Object value);
 
+    /**
+     * Moves the parser to the end of the array it is reading. The parser must be on the first token
+     * of one of the array elements, or on the end of the array.
+     */
+    static void skipToEndOfArray(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        while (token != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of input");
+            }
+            parser.skipChildren();
+            token = parser.nextToken();
+        }
+    }
+
     public static class IntegerBaseType extends BaseType<IntegerBaseType> {
         long min = Long.MIN_VALUE;
         long max = Long.MAX_VALUE;
@@ -113,6 +140,14 @@ public abstract class BaseType<E extends BaseType<E>> {
             return value.asLong();
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            if (parser.getCurrentToken().isScalarValue()) {
+                return parser.getValueAsLong();
+            }
+            return super.toValue(parser);
+        }
+
         @Override
         public void validate(Object value) {
 
@@ -231,6 +266,14 @@ public abstract class BaseType<E extends BaseType<E>> {
             return value.asDouble();
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            if (parser.getCurrentToken().isScalarValue()) {
+                return parser.getValueAsDouble();
+            }
+            return super.toValue(parser);
+        }
+
         @Override
         public void validate(Object value) {
 
@@ -338,6 +381,14 @@ public abstract class BaseType<E extends BaseType<E>> {
             return value.asBoolean();
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            if (parser.getCurrentToken().isScalarValue()) {
+                return parser.getValueAsBoolean();
+            }
+            return super.toValue(parser);
+        }
+
         @Override
         public void validate(Object value) {
 
@@ -353,6 +404,8 @@ public abstract class BaseType<E extends BaseType<E>> {
         int minLength = Integer.MIN_VALUE;
         int maxLength = Integer.MAX_VALUE;
         Set<String> enums;
+        // Canonical strings of the database, if enabled, see DatabaseSchema.enableStringCache
+        StringCache stringCache;
 
         @Override
         public StringBaseType fromString(String typeString) {
@@ -377,7 +430,20 @@ public abstract class BaseType<E extends BaseType<E>> {
 
         @Override
         public Object toValue(JsonNode value) {
-            return value.asText();
+            StringCache cache = stringCache;
+            return cache != null ? cache.canonicalize(value.asText()) : value.asText();
+        }
+
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            JsonToken token = parser.getCurrentToken();
+            if (token == JsonToken.VALUE_STRING) {
+                StringCache cache = stringCache;
+                return cache != null
+                        ? cache.canonicalize(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                        : parser.getText();
+            }
+            return super.toValue(parser);
         }
 
         @Override
@@ -498,7 +564,7 @@ public abstract class BaseType<E extends BaseType<E>> {
         public Object toValue(JsonNode value) {
             if (value.isArray()) {
                 if (value.size() == 2 && value.get(0).isTextual() && "uuid".equals(value.get(0).asText())) {
-                    return new UUID(value.get(1).asText());
+                    return UUID.valueOf(value.get(1).asText());
                 }
             } else {
                 /*
@@ -512,6 +578,23 @@ public abstract class BaseType<E extends BaseType<E>> {
             return null;
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                return new ReferencedRow(refTable, parser.readValueAsTree());
+            }
+            // ["uuid", <uuid>]
+            if (parser.nextToken() == JsonToken.VALUE_STRING && "uuid".equals(parser.getText())
+                    && parser.nextToken() == JsonToken.VALUE_STRING) {
+                UUID uuid = UUID.fromJson(parser);
+                if (parser.nextToken() == JsonToken.END_ARRAY) {
+                    return uuid;
+                }
+            }
+            skipToEndOfArray(parser);
+            return null;
+        }
+
         @Override
         public void validate(Object value) {
 
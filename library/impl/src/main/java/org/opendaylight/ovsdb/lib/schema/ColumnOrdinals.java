@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable numbering of the columns of a table, by column name, used by the compact rows to store the
+ * column values in an array. See {@link TableSchema#getColumnOrdinals()}.
+ */
+public final class ColumnOrdinals {
+
+    private final ColumnSchema[] columns;
+    private final Map<String, Integer> ordinals;
+
+    ColumnOrdinals(Map<String, ColumnSchema> columnSchemas) {
+        // sorted so that the views of a table with the same columns number them the same way
+        Map<String, ColumnSchema> sorted = new TreeMap<>(columnSchemas);
+        columns = sorted.values().toArray(new ColumnSchema[sorted.size()]);
+        ordinals = new HashMap<>(columns.length * 2);
+        int ordinal = 0;
+        for (String name : sorted.keySet()) {
+            ordinals.put(name, ordinal++);
+        }
+    }
+
+    /**
+     * Returns the number of columns.
+     */
+    public int size() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the ordinal of a column, or -1 if the table has no such column.
+     */
+    public int ordinal(String columnName) {
+        Integer ordinal = ordinals.get(columnName);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Returns the schema of the column with the given ordinal.
+     */
+    public ColumnSchema getColumnSchema(int ordinal) {
+        return columns[ordinal];
+    }
+}
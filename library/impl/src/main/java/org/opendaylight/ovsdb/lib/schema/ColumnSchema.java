@@ -8,7 +8,9 @@
 
 package org.opendaylight.ovsdb.lib.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.ovsdb.lib.error.BadSchemaException;
@@ -139,6 +141,22 @@ public class ColumnSchema<E extends TableSchema<E>, D> {
         return (D) this.getType().valueFromJson(value);
     }
 
+    /**
+     * Reads the value of this column straight from a token stream, see
+     * {@link ColumnType#valueFromJson(JsonParser)}.
+     */
+    public D valueFromJson(JsonParser parser) throws IOException {
+        return (D) this.getType().valueFromJson(parser);
+    }
+
+    /**
+     * Applies a column diff of an update2 "modify" to the current value of this column, see
+     * {@link ColumnType#applyDiff(Object, Object)}.
+     */
+    public D applyDiff(D current, D diff) {
+        return (D) this.getType().applyDiff(current, diff);
+    }
+
     public Object getNormalizeData(D value) {
         Object untypedValue;
         if (value instanceof Set) {
@@ -8,7 +8,17 @@
 
 package org.opendaylight.ovsdb.lib.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import org.opendaylight.ovsdb.lib.error.TyperException;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonUtils;
 import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
@@ -108,8 +118,46 @@ public abstract class ColumnType {
 
     public abstract Object valueFromJson(JsonNode value);
 
+    /**
+     * Reads a column value straight from a token stream, with the same result as
+     * {@link #valueFromJson(JsonNode)}. The parser must be positioned on the first token of the value,
+     * and is left on its last token.
+     */
+    public Object valueFromJson(JsonParser parser) throws IOException {
+        return valueFromJson((JsonNode) parser.readValueAsTree());
+    }
+
+    /*
+     * Rebuilds an array whose leading elements were already consumed from the parser, for the
+     * forms that are not read token by token; the parser is left on the end of the array.
+     */
+    static ArrayNode readArrayRest(JsonParser parser, ArrayNode array) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        while (token != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of input");
+            }
+            array.add((JsonNode) parser.readValueAsTree());
+            token = parser.nextToken();
+        }
+        return array;
+    }
+
     public abstract void validate(Object value);
 
+    /**
+     * Applies a column diff of a {@code <row-update2>} "modify" to the current value of the column, see
+     * RFC 7047bis. Without a known value, the diff is applied to an empty one. Scalar columns are
+     * replaced by the diff.
+     *
+     * @param current the current value, may be null
+     * @param diff the decoded diff
+     * @return the new value
+     */
+    public Object applyDiff(Object current, Object diff) {
+        return diff;
+    }
+
     @Override
     public String toString() {
         return "ColumnType{"
@@ -199,7 +247,7 @@ public abstract class ColumnType {
         @Override
         public Object valueFromJson(JsonNode value) {
             if (isMultiValued()) {
-                OvsdbSet<Object> result = new OvsdbSet<>();
+                OvsdbSet.Builder<Object> result = OvsdbSet.builder();
                 if (value.isArray()) {
                     if (value.size() == 2) {
                         if (value.get(0).isTextual() && "set".equals(value.get(0).asText())) {
@@ -213,12 +261,61 @@ public abstract class ColumnType {
                 } else {
                     result.add(getBaseType().toValue(value));
                 }
-                return result;
+                return result.build();
             } else {
                 return getBaseType().toValue(value);
             }
         }
 
+        @Override
+        public Object valueFromJson(JsonParser parser) throws IOException {
+            if (!isMultiValued()) {
+                return getBaseType().toValue(parser);
+            }
+            if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                return OvsdbSet.builder().add(getBaseType().toValue(parser)).build();
+            }
+            // ["set", [<atom>, ...]]
+            if (parser.nextToken() == JsonToken.VALUE_STRING && "set".equals(parser.getText())) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    return valueFromJson(readArrayRest(parser, JsonNodeFactory.instance.arrayNode().add("set")));
+                }
+                OvsdbSet.Builder<Object> result = OvsdbSet.builder();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    result.add(getBaseType().toValue(parser));
+                }
+                if (parser.nextToken() != JsonToken.END_ARRAY) {
+                    BaseType.skipToEndOfArray(parser);
+                    return OvsdbSet.builder().build();
+                }
+                return result.build();
+            }
+            // a single atom such as ["uuid", <uuid>]: decode the small array as a tree
+            return valueFromJson(readArrayRest(parser, JsonNodeFactory.instance.arrayNode()));
+        }
+
+        /*
+         * The diff of a set holds the elements to toggle: elements in both are removed, the others added.
+         * Columns holding at most one value (scalars and optional scalars) get their new value instead, which
+         * is an empty set when an optional scalar is cleared.
+         */
+        @Override
+        public Object applyDiff(Object current, Object diff) {
+            if (getMax() <= 1 || !(diff instanceof Set)) {
+                return diff;
+            }
+            Set<Object> result = new HashSet<>();
+            if (current instanceof Set) {
+                result.addAll((Set<?>) current);
+            }
+            for (Object element : (Set<?>) diff) {
+                if (!result.remove(element)) {
+                    result.add(element);
+                }
+            }
+            return OvsdbSet.compactCopyOf(result);
+        }
+
         @Override
         public void validate(Object value) {
             this.baseType.validate(value);
@@ -271,7 +368,7 @@ public abstract class ColumnType {
         public Object valueFromJson(JsonNode node) {
             if (node.isArray() && node.size() == 2) {
                 if (node.get(0).isTextual() && "map".equals(node.get(0).asText())) {
-                    OvsdbMap<Object, Object> map = new OvsdbMap<>();
+                    OvsdbMap.Builder<Object, Object> map = OvsdbMap.builder();
                     for (JsonNode pairNode : node.get(1)) {
                         if (pairNode.isArray() && node.size() == 2) {
                             Object key = getKeyType().toValue(pairNode.get(0));
@@ -279,7 +376,7 @@ public abstract class ColumnType {
                             map.put(key, value);
                         }
                     }
-                    return map;
+                    return map.build();
                 } else if (node.size() == 0) {
                     return null;
                 }
@@ -287,6 +384,65 @@ public abstract class ColumnType {
             return null;
         }
 
+        @Override
+        public Object valueFromJson(JsonParser parser) throws IOException {
+            if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return null;
+            }
+            // ["map", [[<key>, <value>], ...]]
+            if (parser.nextToken() == JsonToken.VALUE_STRING && "map".equals(parser.getText())
+                    && parser.nextToken() == JsonToken.START_ARRAY) {
+                OvsdbMap.Builder<Object, Object> map = OvsdbMap.builder();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    } else if (parser.nextToken() != JsonToken.END_ARRAY) {
+                        Object key = getKeyType().toValue(parser);
+                        parser.nextToken();
+                        Object value = getBaseType().toValue(parser);
+                        map.put(key, value);
+                        parser.nextToken();
+                        BaseType.skipToEndOfArray(parser);
+                    }
+                }
+                if (parser.nextToken() != JsonToken.END_ARRAY) {
+                    BaseType.skipToEndOfArray(parser);
+                    return null;
+                }
+                return map.build();
+            }
+            BaseType.skipToEndOfArray(parser);
+            return null;
+        }
+
+        /*
+         * The diff of a map holds the pairs to change: a pair whose key is not in the map is added, a pair
+         * already in the map is removed, and a pair with a different value replaces the value of its key.
+         * Maps holding at most one pair get their new value instead.
+         */
+        @Override
+        public Object applyDiff(Object current, Object diff) {
+            if (!(diff instanceof Map)) {
+                return current;
+            }
+            if (getMax() <= 1) {
+                return diff;
+            }
+            Map<Object, Object> result = new HashMap<>();
+            if (current instanceof Map) {
+                result.putAll((Map<?, ?>) current);
+            }
+            for (Map.Entry<?, ?> pair : ((Map<?, ?>) diff).entrySet()) {
+                if (Objects.equals(pair.getValue(), result.get(pair.getKey()))) {
+                    result.remove(pair.getKey());
+                } else {
+                    result.put(pair.getKey(), pair.getValue());
+                }
+            }
+            return OvsdbMap.compactCopyOf(result);
+        }
+
         @Override
         public void validate(Object value) {
             this.baseType.validate(value);
@@ -16,6 +16,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.ovsdb.lib.error.ParsingException;
 import org.opendaylight.ovsdb.lib.notation.Version;
 import org.slf4j.Logger;
@@ -32,6 +34,10 @@ public class DatabaseSchema {
 
     private Version version;
     private Map<String, TableSchema> tables;
+    // Views of the tables as other TableSchema classes, by class and table name
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, TableSchema<?>>> tableViews =
+            new ConcurrentHashMap<>();
+    private volatile StringCache stringCache;
 
     public DatabaseSchema(Map<String, TableSchema> tables) {
         this.tables = tables;
@@ -57,8 +63,22 @@ public class DatabaseSchema {
         if (clazz.isInstance(table)) {
             return clazz.cast(table);
         }
+        if (table == null) {
+            return createTableSchema(clazz, table);
+        }
 
-        return createTableSchema(clazz, table);
+        // The views share the columns of the table, so they are only created once
+        ConcurrentMap<String, TableSchema<?>> views = tableViews.computeIfAbsent(clazz,
+            key -> new ConcurrentHashMap<>());
+        TableSchema<?> view = views.get(tableName);
+        if (view == null) {
+            view = createTableSchema(clazz, table);
+            TableSchema<?> previous = views.putIfAbsent(tableName, view);
+            if (previous != null) {
+                view = previous;
+            }
+        }
+        return clazz.cast(view);
     }
 
     protected <E extends TableSchema<E>> E createTableSchema(Class<E> clazz, TableSchema<E> table) {
@@ -124,4 +144,57 @@ public class DatabaseSchema {
             tableSchema.populateInternallyGeneratedColumns();
         }
     }
+
+    /**
+     * Makes the rows of the tables of this database decode their columns when first read, see
+     * {@link TableSchema#setLazyDecoding(boolean)}. The columns which are never read, like the statistics or
+     * other_config, then cost no decoding, but their JSON is held by the rows. Note the UUIDs decoded lazily
+     * are not interned, as the intern table is only current while the updates are received.
+     */
+    public void enableLazyDecoding() {
+        for (TableSchema<?> tableSchema : tables.values()) {
+            tableSchema.setLazyDecoding(true);
+        }
+    }
+
+    /**
+     * Makes the string columns, and the string keys of the map columns, of this database decode their values
+     * through a {@link StringCache}, so that the values repeated over the rows share a single instance. The
+     * enumerated values of the columns are canonical from the start.
+     *
+     * @param size the number of strings held by the cache
+     */
+    public void enableStringCache(int size) {
+        StringCache cache = new StringCache(size);
+        for (TableSchema<?> tableSchema : tables.values()) {
+            for (ColumnSchema<?, ?> column : tableSchema.getColumnSchemas().values()) {
+                ColumnType type = column.getType();
+                setStringCache(type.getBaseType(), cache);
+                if (type instanceof ColumnType.KeyValuedColumnType) {
+                    setStringCache(((ColumnType.KeyValuedColumnType) type).getKeyType(), cache);
+                }
+            }
+        }
+        stringCache = cache;
+    }
+
+    /**
+     * Returns the string cache of this database, null if not enabled; its statistics tell whether it is sized
+     * right.
+     */
+    public StringCache getStringCache() {
+        return stringCache;
+    }
+
+    private static void setStringCache(BaseType<?> baseType, StringCache cache) {
+        if (baseType instanceof BaseType.StringBaseType) {
+            BaseType.StringBaseType stringType = (BaseType.StringBaseType) baseType;
+            if (stringType.getEnums() != null) {
+                for (String value : stringType.getEnums()) {
+                    cache.canonicalize(value);
+                }
+            }
+            stringType.stringCache = cache;
+        }
+    }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.opendaylight.ovsdb.lib.error.ParsingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide registry of the parsed database schemas, shared by all the connections.
+ *
+ * <p>Devices usually run the same few schema versions, so a schema received with get_schema is only parsed
+ * the first time it is seen; the other connections get the same {@link DatabaseSchema} instance, which must
+ * therefore not be modified. Schemas are identified by database name, version and checksum, the latter
+ * being the "cksum" member of the schema, or a hash of its content when it has none.
+ *
+ * <p>The schemas can be persisted to a directory, to be known again after a restart of the controller.
+ * When a single version of a database is known, connections can optionally use it without asking the
+ * device for its schema, see {@link #getKnownSchema(String)}.
+ */
+public final class DatabaseSchemaRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseSchemaRegistry.class);
+    private static final DatabaseSchemaRegistry INSTANCE = new DatabaseSchemaRegistry();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String FILE_SUFFIX = ".ovsschema";
+    // Names, versions and checksums the file names are built from, which come from the device
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_][A-Za-z0-9_.-]*");
+
+    private final Map<SchemaKey, DatabaseSchema> schemas = new ConcurrentHashMap<>();
+    private volatile Path directory;
+    private volatile int stringCacheSize;
+    private volatile boolean lazyRowDecoding;
+
+    DatabaseSchemaRegistry() {
+    }
+
+    public static DatabaseSchemaRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the schema matching a get_schema reply, parsing it only if it was not known yet. The
+     * internally generated columns of the tables are populated.
+     *
+     * @param dbName the name of the database
+     * @param json the schema
+     * @throws ParsingException if the schema is not valid
+     */
+    public DatabaseSchema register(String dbName, JsonNode json) {
+        if (!json.isObject() || !json.has("version")) {
+            throw new ParsingException("bad DatabaseSchema root, expected \"version\" as child but was not found");
+        }
+        SchemaKey key = new SchemaKey(dbName, json.get("version").asText(), checksum(json));
+        DatabaseSchema schema = schemas.get(key);
+        if (schema == null) {
+            schema = DatabaseSchema.fromJson(dbName, json);
+            schema.populateInternallyGeneratedColumns();
+            if (stringCacheSize > 0) {
+                schema.enableStringCache(stringCacheSize);
+            }
+            if (lazyRowDecoding) {
+                schema.enableLazyDecoding();
+            }
+            DatabaseSchema previous = schemas.putIfAbsent(key, schema);
+            if (previous != null) {
+                return previous;
+            }
+            LOG.info("Registered schema {} version {} checksum {}", dbName, key.version, key.checksum);
+            persist(key, json);
+        }
+        return schema;
+    }
+
+    /**
+     * Returns the schema of a database if a single version of it is known, null otherwise.
+     */
+    public DatabaseSchema getKnownSchema(String dbName) {
+        DatabaseSchema known = null;
+        for (Map.Entry<SchemaKey, DatabaseSchema> entry : schemas.entrySet()) {
+            if (entry.getKey().dbName.equals(dbName)) {
+                if (known != null) {
+                    return null;
+                }
+                known = entry.getValue();
+            }
+        }
+        return known;
+    }
+
+    /**
+     * Sets the directory the schemas are persisted to, and loads the schemas found in it.
+     *
+     * @param path the directory, created if needed; null or empty to not persist the schemas
+     */
+    public void setDirectory(String path) {
+        if (path == null || path.isEmpty()) {
+            directory = null;
+            return;
+        }
+        Path dir = Paths.get(path);
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    load(file);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to load the schemas of {}, they are not persisted", dir, e);
+            return;
+        }
+        directory = dir;
+    }
+
+    /**
+     * Sets the size of the string cache of the schemas registered from now on, see
+     * {@link DatabaseSchema#enableStringCache(int)}.
+     *
+     * @param size the number of strings, 0 to not cache the strings
+     */
+    public void setStringCacheSize(int size) {
+        stringCacheSize = size;
+    }
+
+    /**
+     * Sets whether the rows of the schemas registered from now on decode their columns when first read, see
+     * {@link DatabaseSchema#enableLazyDecoding()}.
+     */
+    public void setLazyRowDecoding(boolean lazy) {
+        lazyRowDecoding = lazy;
+    }
+
+    /**
+     * Forgets all the schemas. Those already handed out remain valid.
+     */
+    public void clear() {
+        schemas.clear();
+    }
+
+    private void load(Path file) {
+        String fileName = file.getFileName().toString();
+        int separator = fileName.indexOf('@');
+        if (separator <= 0) {
+            LOG.debug("Ignoring {}, not a persisted schema", file);
+            return;
+        }
+        try {
+            register(fileName.substring(0, separator), OBJECT_MAPPER.readTree(file.toFile()));
+        } catch (IOException | ParsingException e) {
+            LOG.warn("Ignoring invalid persisted schema {}", file, e);
+        }
+    }
+
+    private void persist(SchemaKey key, JsonNode json) {
+        Path dir = directory;
+        if (dir == null) {
+            return;
+        }
+        if (!SAFE_NAME.matcher(key.dbName).matches() || !SAFE_NAME.matcher(key.version).matches()
+                || !SAFE_NAME.matcher(key.checksum).matches()) {
+            LOG.warn("Not persisting schema {} version {}, not usable in a file name", key.dbName, key.version);
+            return;
+        }
+        Path temp = null;
+        try {
+            Path file = dir.resolve(key.dbName + "@" + key.version + "@" + key.checksum + FILE_SUFFIX);
+            if (!dir.equals(file.normalize().getParent())) {
+                LOG.warn("Not persisting schema {} version {} out of {}", key.dbName, key.version, dir);
+                return;
+            }
+            if (Files.exists(file)) {
+                return;
+            }
+            // written to a temporary file first, so that a schema is never loaded half written
+            temp = Files.createTempFile(dir, "schema", ".tmp");
+            Files.write(temp, OBJECT_MAPPER.writeValueAsBytes(json));
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.warn("Failed to persist schema {} to {}", key.dbName, dir, e);
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException ex) {
+                LOG.debug("Failed to delete {}", temp, ex);
+            }
+        }
+    }
+
+    private static String checksum(JsonNode json) {
+        JsonNode cksum = json.get("cksum");
+        if (cksum != null && cksum.isTextual()) {
+            return cksum.asText().replace(' ', '-');
+        }
+        return Hashing.sha256().hashString(json.toString(), UTF_8).toString();
+    }
+
+    private static final class SchemaKey {
+        private final String dbName;
+        private final String version;
+        private final String checksum;
+
+        SchemaKey(String dbName, String version, String checksum) {
+            this.dbName = dbName;
+            this.version = version;
+            this.checksum = checksum;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbName, version, checksum);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SchemaKey)) {
+                return false;
+            }
+            SchemaKey other = (SchemaKey) obj;
+            return dbName.equals(other.dbName) && version.equals(other.version) && checksum.equals(other.checksum);
+        }
+    }
+}
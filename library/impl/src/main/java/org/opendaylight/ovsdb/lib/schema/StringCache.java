@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded table of canonical strings, so that the strings repeated over the decoded rows (keys of external_ids,
+ * interface types, admin states...) share a single instance.
+ *
+ * <p>The table is direct mapped: a string can only be in the slot of its hash, and replaces the string found
+ * there on a miss. Lookups are lock free and never allocate on a hit, which the hit and miss counts tell the
+ * rate of, to size the table. See {@link DatabaseSchema#enableStringCache(int)}.
+ */
+public final class StringCache {
+
+    private final String[] strings;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a table.
+     *
+     * @param size the number of strings held, rounded up to a power of two
+     */
+    public StringCache(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.strings = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the canonical instance of a string.
+     */
+    public String canonicalize(String value) {
+        int slot = spread(value.hashCode()) & mask;
+        // Strings are immutable, the slots need no memory barrier
+        String cached = strings[slot];
+        if (value.equals(cached)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        strings[slot] = value;
+        return value;
+    }
+
+    /**
+     * Returns the canonical instance of the string made of some characters, only creating a string if it is
+     * not in the table.
+     */
+    public String canonicalize(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = spread(hash) & mask;
+        String cached = strings[slot];
+        if (cached != null && matches(cached, chars, offset, length)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        String value = new String(chars, offset, length);
+        strings[slot] = value;
+        return value;
+    }
+
+    public int getSize() {
+        return strings.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the ratio of the lookups which found the string in the table, 0 without lookups.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "StringCache [size=" + strings.length + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", hitRate=" + getHitRate() + "]";
+    }
+
+    private static boolean matches(String cached, char[] chars, int offset, int length) {
+        if (cached.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (cached.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same as HashMap, the low bits of string hashes are poorly distributed for short strings
+    private static int spread(int hash) {
+        return hash ^ hash >>> 16;
+    }
+}
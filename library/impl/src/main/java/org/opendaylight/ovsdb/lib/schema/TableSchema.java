@@ -8,8 +8,12 @@
 
 package org.opendaylight.ovsdb.lib.schema;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
@@ -20,6 +24,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.ovsdb.lib.message.TableUpdate;
 import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.CompactRow;
 import org.opendaylight.ovsdb.lib.notation.Row;
 import org.opendaylight.ovsdb.lib.notation.UUID;
 import org.opendaylight.ovsdb.lib.operations.Insert;
@@ -31,6 +36,8 @@ public abstract class TableSchema<E extends TableSchema<E>> {
 
     private String name;
     private Map<String, ColumnSchema> columns;
+    private volatile ColumnOrdinals columnOrdinals;
+    private volatile boolean lazyDecoding;
 
     public TableSchema() {
     }
@@ -52,6 +59,19 @@ public abstract class TableSchema<E extends TableSchema<E>> {
         return columns;
     }
 
+    /**
+     * Returns the numbering of the columns used by the rows decoded from this table, see {@link CompactRow}.
+     * It is renewed when columns are added to the schema; the rows keep the numbering they were created with.
+     */
+    public ColumnOrdinals getColumnOrdinals() {
+        ColumnOrdinals ordinals = columnOrdinals;
+        if (ordinals == null || ordinals.size() != columns.size()) {
+            ordinals = new ColumnOrdinals(columns);
+            columnOrdinals = ordinals;
+        }
+        return ordinals;
+    }
+
     public boolean hasColumn(String column) {
         return this.getColumns().contains(column);
     }
@@ -122,22 +142,179 @@ public abstract class TableSchema<E extends TableSchema<E>> {
         TableUpdate<E> tableUpdate = new TableUpdate<>();
         Iterator<Entry<String, JsonNode>> fields = value.fields();
         while (fields.hasNext()) {
-            Map.Entry<String, JsonNode> idOldNew = fields.next();
-            String uuid = idOldNew.getKey();
+            addRowUpdate(tableUpdate, fields.next());
+        }
+        return tableUpdate;
+    }
+
+    /**
+     * Decodes some of the row updates of a {@code <table-update>}, so that the rows of a large update can be
+     * decoded in chunks, and the partial updates merged with {@link TableUpdate#addRows(TableUpdate)}.
+     *
+     * @param rowUpdates the uuid to {@code <row-update>} entries of the update
+     */
+    public TableUpdate<E> updatesFromJson(List<Entry<String, JsonNode>> rowUpdates) {
+        TableUpdate<E> tableUpdate = new TableUpdate<>();
+        for (Entry<String, JsonNode> idOldNew : rowUpdates) {
+            addRowUpdate(tableUpdate, idOldNew);
+        }
+        return tableUpdate;
+    }
 
-            ObjectNode newObjectNode = (ObjectNode) idOldNew.getValue().get("new");
-            ObjectNode oldObjectNode = (ObjectNode) idOldNew.getValue().get("old");
+    private void addRowUpdate(TableUpdate<E> tableUpdate, Entry<String, JsonNode> idOldNew) {
+        String uuid = idOldNew.getKey();
 
-            Row<E> newRow = newObjectNode != null ? createRow(newObjectNode) : null;
-            Row<E> oldRow = oldObjectNode != null ? createRow(oldObjectNode) : null;
+        ObjectNode newObjectNode = (ObjectNode) idOldNew.getValue().get("new");
+        ObjectNode oldObjectNode = (ObjectNode) idOldNew.getValue().get("old");
 
-            tableUpdate.addRow(new UUID(uuid), oldRow, newRow);
+        Row<E> newRow = newObjectNode != null ? createRow(newObjectNode) : null;
+        Row<E> oldRow = oldObjectNode != null ? createRow(oldObjectNode) : null;
+
+        tableUpdate.addRow(UUID.valueOf(uuid), oldRow, newRow);
+    }
+
+    /**
+     * Applies the updates of this table in the {@code <table-update2>} format of monitor_cond and
+     * monitor_cond_since to the rows known so far, and returns them in the old/new format: initial and
+     * inserted rows only have a new row, deleted rows only an old one, and modified rows have an old row
+     * with the previous values of the modified columns and a new row with all the columns.
+     *
+     * @param value the {@code <table-update2>} object
+     * @param rows the rows known so far, updated in place
+     */
+    public TableUpdate<E> updates2FromJson(JsonNode value, Map<UUID, Row<E>> rows) {
+        TableUpdate<E> tableUpdate = new TableUpdate<>();
+        Iterator<Entry<String, JsonNode>> fields = value.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> idUpdate = fields.next();
+            UUID uuid = UUID.valueOf(idUpdate.getKey());
+            Iterator<Entry<String, JsonNode>> kinds = idUpdate.getValue().fields();
+            while (kinds.hasNext()) {
+                Map.Entry<String, JsonNode> kindRow = kinds.next();
+                Row<E> row = kindRow.getValue() instanceof ObjectNode ? createRow((ObjectNode) kindRow.getValue())
+                        : null;
+                applyRowUpdate2(uuid, kindRow.getKey(), row, rows, tableUpdate);
+            }
         }
         return tableUpdate;
     }
 
+    /**
+     * Reads the updates of this table in the {@code <table-update2>} format straight from a token stream, see
+     * {@link #updates2FromJson(JsonNode, Map)}. The parser must be positioned on the start of the
+     * {@code <table-update2>} object, and is left on its end.
+     */
+    public TableUpdate<E> updates2FromJson(JsonParser parser, Map<UUID, Row<E>> rows) throws IOException {
+        TableUpdate<E> tableUpdate = new TableUpdate<>();
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            UUID uuid = UUID.fromJson(parser);
+            expect(parser.nextToken(), parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String kind = parser.getCurrentName();
+                Row<E> row = null;
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    row = createRow(parser);
+                } else {
+                    parser.skipChildren();
+                }
+                applyRowUpdate2(uuid, kind, row, rows, tableUpdate);
+            }
+        }
+        return tableUpdate;
+    }
+
+    /*
+     * Applies an "initial", "insert", "delete" or "modify" <row-update2>; row is the decoded row, or for
+     * "modify" the decoded column diffs.
+     */
+    private void applyRowUpdate2(UUID uuid, String kind, Row<E> row, Map<UUID, Row<E>> rows,
+            TableUpdate<E> tableUpdate) {
+        if (("initial".equals(kind) || "insert".equals(kind)) && row != null) {
+            rows.put(uuid, row);
+            tableUpdate.addRow(uuid, null, row);
+        } else if ("delete".equals(kind)) {
+            Row<E> oldRow = rows.remove(uuid);
+            tableUpdate.addRow(uuid, oldRow != null ? oldRow : new CompactRow<>(this), null);
+        } else if ("modify".equals(kind) && row != null) {
+            Row<E> oldRow = rows.get(uuid);
+            CompactRow<E> newRow = oldRow != null ? new CompactRow<>(this, oldRow) : new CompactRow<>(this);
+            List<Column<E, ?>> oldColumns = new ArrayList<>();
+            for (Column<E, ?> diff : row.getColumns()) {
+                ColumnSchema<E, Object> schema = (ColumnSchema<E, Object>) diff.getSchema();
+                Column<E, Object> previous = oldRow != null ? oldRow.getColumn(schema) : null;
+                Object previousData = previous != null ? previous.getData() : null;
+                if (previous != null) {
+                    oldColumns.add(previous);
+                }
+                newRow.setColumn(schema, schema.applyDiff(previousData, diff.getData()));
+            }
+            rows.put(uuid, newRow);
+            tableUpdate.addRow(uuid, new CompactRow<>(this, oldColumns), newRow);
+        }
+    }
+
+    /**
+     * Reads the updates of this table straight from a token stream, without building a tree of the rows
+     * first. The parser must be positioned on the start of the {@code <table-update>} object, and is left
+     * on its end.
+     */
+    public TableUpdate<E> updatesFromJson(JsonParser parser) throws IOException {
+        TableUpdate<E> tableUpdate = new TableUpdate<>();
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            UUID uuid = UUID.fromJson(parser);
+            expect(parser.nextToken(), parser, JsonToken.START_OBJECT);
+            Row<E> newRow = null;
+            Row<E> oldRow = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("new".equals(field) && token == JsonToken.START_OBJECT) {
+                    newRow = createRow(parser);
+                } else if ("old".equals(field) && token == JsonToken.START_OBJECT) {
+                    oldRow = createRow(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            tableUpdate.addRow(uuid, oldRow, newRow);
+        }
+        return tableUpdate;
+    }
+
+    /**
+     * Reads a row straight from a token stream. The parser must be positioned on the start of the
+     * {@code <row>} object, and is left on its end.
+     */
+    public Row<E> createRow(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        CompactRow<E> row = new CompactRow<>(this);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            ColumnSchema<E, Object> schema = column(parser.getCurrentName(), Object.class);
+            parser.nextToken();
+            // skip the "hidden" columns not reported in the schema, see createRow(ObjectNode)
+            if (schema != null) {
+                row.setColumn(schema, schema.valueFromJson(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return row;
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        expect(parser.getCurrentToken(), parser, expected);
+    }
+
+    private static void expect(JsonToken token, JsonParser parser, JsonToken expected) throws IOException {
+        if (token != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but was " + token);
+        }
+    }
+
     public Row<E> createRow(ObjectNode rowNode) {
-        List<Column<E, ?>> newColumns = new ArrayList<>();
+        CompactRow<E> row = new CompactRow<>(this);
         for (Iterator<Map.Entry<String, JsonNode>> iter = rowNode.fields(); iter.hasNext();) {
             Map.Entry<String, JsonNode> next = iter.next();
             ColumnSchema<E, Object> schema = column(next.getKey(), Object.class);
@@ -147,12 +324,29 @@ public abstract class TableSchema<E extends TableSchema<E>> {
              * are NOT reported in getSchema, but decide to report it in unfiltered monitor.
              * Hence adding some safety checks around that.
              */
-            if (schema != null) {
-                Object value = schema.valueFromJson(next.getValue());
-                newColumns.add(new Column<>(schema, value));
+            if (schema == null) {
+                continue;
+            }
+            if (lazyDecoding) {
+                row.setColumnJson(schema, next.getValue());
+            } else {
+                row.setColumn(schema, schema.valueFromJson(next.getValue()));
             }
         }
-        return new Row<>(this, newColumns);
+        return row;
+    }
+
+    /**
+     * Sets whether the rows created from JSON trees keep the JSON value of each column, and only decode it
+     * when the column is first read, see {@link CompactRow#setColumnJson(ColumnSchema, JsonNode)}. The rows
+     * read from token streams are always decoded right away.
+     */
+    public void setLazyDecoding(boolean lazy) {
+        this.lazyDecoding = lazy;
+    }
+
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
     }
 
     public List<Row<E>> createRows(JsonNode rowsNode) {
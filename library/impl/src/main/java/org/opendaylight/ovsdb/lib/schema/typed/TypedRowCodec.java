@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema.typed;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
+import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+
+/**
+ * Reads and writes the OVSDB JSON encoding of column values (RFC 7047, section 5.1), for the row classes
+ * generated by the TypedRowGenerator of the library-row-generator build tool. The readers expect the parser
+ * on the first token of the value, and leave it on its last token.
+ */
+public final class TypedRowCodec {
+
+    /**
+     * Reads an atom.
+     */
+    @FunctionalInterface
+    public interface AtomReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Writes an atom.
+     */
+    @FunctionalInterface
+    public interface AtomWriter<T> {
+        void write(JsonGenerator generator, T value) throws IOException;
+    }
+
+    public static final AtomReader<String> STRING = TypedRowCodec::readString;
+    public static final AtomReader<Long> INTEGER = TypedRowCodec::readInteger;
+    public static final AtomReader<Double> REAL = TypedRowCodec::readReal;
+    public static final AtomReader<Boolean> BOOLEAN = TypedRowCodec::readBoolean;
+    public static final AtomReader<UUID> UUID_ATOM = TypedRowCodec::readUuid;
+
+    public static final AtomWriter<String> STRING_WRITER = JsonGenerator::writeString;
+    public static final AtomWriter<Long> INTEGER_WRITER = JsonGenerator::writeNumber;
+    public static final AtomWriter<Double> REAL_WRITER = JsonGenerator::writeNumber;
+    public static final AtomWriter<Boolean> BOOLEAN_WRITER = JsonGenerator::writeBoolean;
+    public static final AtomWriter<UUID> UUID_WRITER = TypedRowCodec::writeUuid;
+
+    private TypedRowCodec() {
+        // Prevent instantiating a utility class
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        expectScalar(parser);
+        return parser.getText();
+    }
+
+    public static Long readInteger(JsonParser parser) throws IOException {
+        expectScalar(parser);
+        return parser.getValueAsLong();
+    }
+
+    public static Double readReal(JsonParser parser) throws IOException {
+        expectScalar(parser);
+        return parser.getValueAsDouble();
+    }
+
+    public static Boolean readBoolean(JsonParser parser) throws IOException {
+        expectScalar(parser);
+        return parser.getValueAsBoolean();
+    }
+
+    /**
+     * Reads a {@code ["uuid", <uuid>]} or {@code ["named-uuid", <id>]} pair.
+     */
+    public static UUID readUuid(JsonParser parser) throws IOException {
+        expect(parser.getCurrentToken(), parser, JsonToken.START_ARRAY);
+        expect(parser.nextToken(), parser, JsonToken.VALUE_STRING);
+        return readUuidRest(parser);
+    }
+
+    /**
+     * Reads a set, encoded either as {@code ["set", [<atom>, ...]]} or as a single atom, into a compact
+     * immutable set.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<T> readSet(JsonParser parser, AtomReader<T> atom) throws IOException {
+        OvsdbSet.Builder<T> result = OvsdbSet.builder();
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            return result.add(atom.read(parser)).build();
+        }
+        expect(parser.nextToken(), parser, JsonToken.VALUE_STRING);
+        if (!"set".equals(parser.getText())) {
+            // a single ["uuid", <uuid>] atom, the only atom encoded as an array
+            return result.add((T) readUuidRest(parser)).build();
+        }
+        expect(parser.nextToken(), parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            result.add(atom.read(parser));
+        }
+        expect(parser.nextToken(), parser, JsonToken.END_ARRAY);
+        return result.build();
+    }
+
+    /**
+     * Reads a map, encoded as {@code ["map", [[<key>, <value>], ...]]}, into a compact immutable map.
+     */
+    public static <K, V> Map<K, V> readMap(JsonParser parser, AtomReader<K> key, AtomReader<V> value)
+            throws IOException {
+        OvsdbMap.Builder<K, V> result = OvsdbMap.builder();
+        expect(parser.getCurrentToken(), parser, JsonToken.START_ARRAY);
+        expect(parser.nextToken(), parser, JsonToken.VALUE_STRING);
+        expect(parser.nextToken(), parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser.getCurrentToken(), parser, JsonToken.START_ARRAY);
+            parser.nextToken();
+            K mapKey = key.read(parser);
+            parser.nextToken();
+            result.put(mapKey, value.read(parser));
+            expect(parser.nextToken(), parser, JsonToken.END_ARRAY);
+        }
+        expect(parser.nextToken(), parser, JsonToken.END_ARRAY);
+        return result.build();
+    }
+
+    /**
+     * Writes a UUID as a {@code ["uuid", <uuid>]} pair, or as a {@code ["named-uuid", <id>]} pair if it is
+     * not a valid UUID, like {@code UUIDSerializer}.
+     */
+    public static void writeUuid(JsonGenerator generator, UUID value) throws IOException {
+        String text = value.toString();
+        generator.writeStartArray();
+        generator.writeString(isUuid(text) ? "uuid" : "named-uuid");
+        generator.writeString(text);
+        generator.writeEndArray();
+    }
+
+    public static <T> void writeSet(JsonGenerator generator, Set<T> value, AtomWriter<T> atom) throws IOException {
+        generator.writeStartArray();
+        generator.writeString("set");
+        generator.writeStartArray();
+        for (T element : value) {
+            atom.write(generator, element);
+        }
+        generator.writeEndArray();
+        generator.writeEndArray();
+    }
+
+    public static <K, V> void writeMap(JsonGenerator generator, Map<K, V> value, AtomWriter<K> key,
+            AtomWriter<V> atom) throws IOException {
+        generator.writeStartArray();
+        generator.writeString("map");
+        generator.writeStartArray();
+        for (Map.Entry<K, V> entry : value.entrySet()) {
+            generator.writeStartArray();
+            key.write(generator, entry.getKey());
+            atom.write(generator, entry.getValue());
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+        generator.writeEndArray();
+    }
+
+    private static UUID readUuidRest(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), parser, JsonToken.VALUE_STRING);
+        UUID uuid = UUID.fromJson(parser);
+        expect(parser.nextToken(), parser, JsonToken.END_ARRAY);
+        return uuid;
+    }
+
+    private static boolean isUuid(String text) {
+        if (text.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? ch != '-' : Character.digit(ch, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void expectScalar(JsonParser parser) throws IOException {
+        if (!parser.getCurrentToken().isScalarValue()) {
+            throw new JsonParseException(parser, "Expected an atom but was " + parser.getCurrentToken());
+        }
+    }
+
+    private static void expect(JsonToken token, JsonParser parser, JsonToken expected) throws IOException {
+        if (token != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but was " + token);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.ovsdb.lib.error.ColumnSchemaNotFoundException;
 import org.opendaylight.ovsdb.lib.error.SchemaVersionMismatchException;
 import org.opendaylight.ovsdb.lib.error.TableSchemaNotFoundException;
@@ -40,6 +41,14 @@ public class TyperUtils {
     private static final String GETCOLUMN_ENDS_WITH = "Column";
     private static final String GETROW_ENDS_WITH = "Row";
 
+    // Metadata of the typed classes, resolved once per class
+    private static final ClassValue<TypedClass> TYPED_CLASSES = new ClassValue<TypedClass>() {
+        @Override
+        protected TypedClass computeValue(Class<?> type) {
+            return new TypedClass(type);
+        }
+    };
+
     private TyperUtils() {
         // Prevent instantiating a utility class
     }
@@ -61,8 +70,7 @@ public class TyperUtils {
      * @return the table schema.
      */
     public static GenericTableSchema getTableSchema(DatabaseSchema dbSchema, Class<?> klazz) {
-        String tableName = getTableName(klazz);
-        return dbSchema.table(tableName, GenericTableSchema.class);
+        return dbSchema.table(TYPED_CLASSES.get(klazz).tableName, GenericTableSchema.class);
     }
 
     public static ColumnSchema<GenericTableSchema, Object>
@@ -181,28 +189,18 @@ public class TyperUtils {
             return false;
         }
 
-        TypedTable typedTable = klazz.getAnnotation(TypedTable.class);
-        if (typedTable != null && !dbSchema.getName().equalsIgnoreCase(typedTable.database())) {
+        TypedClass typedClass = TYPED_CLASSES.get(klazz);
+        if (typedClass.database != null && !dbSchema.getName().equalsIgnoreCase(typedClass.database)) {
             return false;
         }
 
-        checkTableSchemaVersion(dbSchema, klazz);
+        checkVersion(dbSchema.getVersion(), typedClass.fromVersion, typedClass.untilVersion);
 
         return true;
     }
 
-    private static void checkColumnSchemaVersion(DatabaseSchema dbSchema, Method method) {
-        Version fromVersion = getColumnFromVersion(method);
-        Version untilVersion = getColumnUntilVersion(method);
-        Version schemaVersion = dbSchema.getVersion();
-        checkVersion(schemaVersion, fromVersion, untilVersion);
-    }
-
-    private static <T> void checkTableSchemaVersion(DatabaseSchema dbSchema, Class<T> klazz) {
-        Version fromVersion = getTableFromVersion(klazz);
-        Version untilVersion = getTableUntilVersion(klazz);
-        Version schemaVersion = dbSchema.getVersion();
-        checkVersion(schemaVersion, fromVersion, untilVersion);
+    private static void checkColumnSchemaVersion(DatabaseSchema dbSchema, TypedMethod method) {
+        checkVersion(dbSchema.getVersion(), method.fromVersion, method.untilVersion);
     }
 
     private static void checkVersion(Version schemaVersion, Version fromVersion, Version untilVersion) {
@@ -260,21 +258,22 @@ public class TyperUtils {
         if (row != null) {
             row.setTableSchema(getTableSchema(dbSchema, klazz));
         }
+        final TypedClass typedClass = TYPED_CLASSES.get(klazz);
         return Reflection.newProxy(klazz, new InvocationHandler() {
-            private Object processGetData(Method method) {
-                String columnName = getColumnName(method);
+            private Object processGetData(TypedMethod method) {
+                String columnName = method.columnName;
                 checkColumnSchemaVersion(dbSchema, method);
                 if (columnName == null) {
-                    throw new TyperException("Error processing Getter : " + method.getName());
+                    throw new TyperException("Error processing Getter : " + method.name);
                 }
                 GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
                 if (tableSchema == null) {
                     String message =
-                            TableSchemaNotFoundException.createMessage(getTableName(klazz), dbSchema.getName());
+                            TableSchemaNotFoundException.createMessage(typedClass.tableName, dbSchema.getName());
                     throw new TableSchemaNotFoundException(message);
                 }
                 ColumnSchema<GenericTableSchema, Object> columnSchema =
-                        getColumnSchema(tableSchema, columnName, (Class<Object>) method.getReturnType());
+                        getColumnSchema(tableSchema, columnName, method.returnType);
                 if (columnSchema == null) {
                     String message = ColumnSchemaNotFoundException.createMessage(columnName, tableSchema.getName());
                     throw new ColumnSchemaNotFoundException(message);
@@ -289,20 +288,20 @@ public class TyperUtils {
                 return row;
             }
 
-            private Object processGetColumn(Method method) {
-                String columnName = getColumnName(method);
+            private Object processGetColumn(TypedMethod method) {
+                String columnName = method.columnName;
                 checkColumnSchemaVersion(dbSchema, method);
                 if (columnName == null) {
-                    throw new TyperException("Error processing GetColumn : " + method.getName());
+                    throw new TyperException("Error processing GetColumn : " + method.name);
                 }
                 GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
                 if (tableSchema == null) {
                     String message =
-                            TableSchemaNotFoundException.createMessage(getTableName(klazz), dbSchema.getName());
+                            TableSchemaNotFoundException.createMessage(typedClass.tableName, dbSchema.getName());
                     throw new TableSchemaNotFoundException(message);
                 }
                 ColumnSchema<GenericTableSchema, Object> columnSchema =
-                        getColumnSchema(tableSchema, columnName, (Class<Object>) method.getReturnType());
+                        getColumnSchema(tableSchema, columnName, method.returnType);
                 if (columnSchema == null) {
                     String message = ColumnSchemaNotFoundException.createMessage(columnName, tableSchema.getName());
                     throw new ColumnSchemaNotFoundException(message);
@@ -315,14 +314,14 @@ public class TyperUtils {
                 return row.getColumn(columnSchema);
             }
 
-            private Object processSetData(Object proxy, Method method, Object[] args) {
+            private Object processSetData(Object proxy, TypedMethod method, Object[] args) {
                 if (args == null || args.length != 1) {
-                    throw new TyperException("Setter method : " + method.getName() + " requires 1 argument");
+                    throw new TyperException("Setter method : " + method.name + " requires 1 argument");
                 }
                 checkColumnSchemaVersion(dbSchema, method);
-                String columnName = getColumnName(method);
+                String columnName = method.columnName;
                 if (columnName == null) {
-                    throw new TyperException("Unable to locate Column Name for " + method.getName());
+                    throw new TyperException("Unable to locate Column Name for " + method.name);
                 }
                 GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
                 ColumnSchema<GenericTableSchema, Object> columnSchema =
@@ -340,41 +339,29 @@ public class TyperUtils {
                 return getTableSchema(dbSchema, klazz);
             }
 
-            private Boolean isHashCodeMethod(Method method, Object[] args) {
-                return (args == null || args.length == 0) && method.getName().equals("hashCode");
-            }
-
-            private Boolean isEqualsMethod(Method method, Object[] args) {
-                return (args != null
-                        && args.length == 1
-                        && method.getName().equals("equals")
-                        && Object.class.equals(method.getParameterTypes()[0]));
-            }
-
-            private Boolean isToStringMethod(Method method, Object[] args) {
-                return (args == null || args.length == 0) && method.getName().equals("toString");
-            }
-
             @Override
             public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
-                if (isGetTableSchema(method)) {
-                    return processGetTableSchema();
-                } else if (isGetRow(method)) {
-                    return processGetRow();
-                } else if (isSetData(method)) {
-                    return processSetData(proxy, method, args);
-                } else if (isGetData(method)) {
-                    return processGetData(method);
-                } else if (isGetColumn(method)) {
-                    return processGetColumn(method);
-                } else if (isHashCodeMethod(method, args)) {
-                    return hashCode();
-                } else if (isEqualsMethod(method, args)) {
-                    return proxy.getClass().isInstance(args[0]) && this.equals(args[0]);
-                } else if (isToStringMethod(method, args)) {
-                    return this.toString();
+                TypedMethod typedMethod = typedClass.method(method);
+                switch (typedMethod.kind) {
+                    case GETTABLESCHEMA:
+                        return processGetTableSchema();
+                    case GETROW:
+                        return processGetRow();
+                    case SETDATA:
+                        return processSetData(proxy, typedMethod, args);
+                    case GETDATA:
+                        return processGetData(typedMethod);
+                    case GETCOLUMN:
+                        return processGetColumn(typedMethod);
+                    case HASHCODE:
+                        return hashCode();
+                    case EQUALS:
+                        return proxy.getClass().isInstance(args[0]) && this.equals(args[0]);
+                    case TOSTRING:
+                        return this.toString();
+                    default:
+                        throw new UnsupportedMethodException("Method not supported " + method.toString());
                 }
-                throw new UnsupportedMethodException("Method not supported " + method.toString());
             }
 
             @Override
@@ -535,4 +522,78 @@ public class TyperUtils {
         return result;
     }
 
+    /*
+     * What a method of a typed class does, as resolved by the checks of the method annotations and name.
+     */
+    private enum MethodKind {
+        GETTABLESCHEMA, GETROW, SETDATA, GETDATA, GETCOLUMN, HASHCODE, EQUALS, TOSTRING, UNSUPPORTED
+    }
+
+    /*
+     * Metadata of a typed class: its table, and its methods, resolved on their first invocation.
+     */
+    private static final class TypedClass {
+        private final String tableName;
+        private final String database;
+        private final Version fromVersion;
+        private final Version untilVersion;
+        private final Map<Method, TypedMethod> methods = new ConcurrentHashMap<>();
+
+        TypedClass(Class<?> klazz) {
+            tableName = getTableName(klazz);
+            TypedTable typedTable = klazz.getAnnotation(TypedTable.class);
+            database = typedTable != null ? typedTable.database() : null;
+            fromVersion = getTableFromVersion(klazz);
+            untilVersion = getTableUntilVersion(klazz);
+        }
+
+        TypedMethod method(Method method) {
+            TypedMethod typedMethod = methods.get(method);
+            if (typedMethod == null) {
+                typedMethod = methods.computeIfAbsent(method, TypedMethod::new);
+            }
+            return typedMethod;
+        }
+    }
+
+    private static final class TypedMethod {
+        private final String name;
+        private final MethodKind kind;
+        private final String columnName;
+        private final Class<Object> returnType;
+        private final Version fromVersion;
+        private final Version untilVersion;
+
+        @SuppressWarnings("unchecked")
+        TypedMethod(Method method) {
+            name = method.getName();
+            kind = kind(method);
+            columnName = getColumnName(method);
+            returnType = (Class<Object>) method.getReturnType();
+            fromVersion = getColumnFromVersion(method);
+            untilVersion = getColumnUntilVersion(method);
+        }
+
+        private static MethodKind kind(Method method) {
+            if (isGetTableSchema(method)) {
+                return MethodKind.GETTABLESCHEMA;
+            } else if (isGetRow(method)) {
+                return MethodKind.GETROW;
+            } else if (isSetData(method)) {
+                return MethodKind.SETDATA;
+            } else if (isGetData(method)) {
+                return MethodKind.GETDATA;
+            } else if (isGetColumn(method)) {
+                return MethodKind.GETCOLUMN;
+            } else if (method.getParameterCount() == 0 && method.getName().equals("hashCode")) {
+                return MethodKind.HASHCODE;
+            } else if (method.getParameterCount() == 1 && method.getName().equals("equals")
+                    && Object.class.equals(method.getParameterTypes()[0])) {
+                return MethodKind.EQUALS;
+            } else if (method.getParameterCount() == 0 && method.getName().equals("toString")) {
+                return MethodKind.TOSTRING;
+            }
+            return MethodKind.UNSUPPORTED;
+        }
+    }
 }
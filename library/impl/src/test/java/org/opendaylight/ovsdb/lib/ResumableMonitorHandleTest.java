@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class ResumableMonitorHandleTest {
+
+    private static final String BR0 = "788de61c-0e4f-43d8-a068-259e75aabbba";
+    private static final String BR1 = "f6018e7a-7ca5-4e72-a744-a9b434f47011";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private DatabaseSchema dbSchema;
+    private GenericTableSchema bridge;
+
+    @Before
+    public void setUp() throws IOException {
+        dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result"));
+        bridge = dbSchema.table("Bridge", GenericTableSchema.class);
+    }
+
+    @Test
+    public void testUpdates() throws IOException {
+        ResumableMonitorHandle handle = new ResumableMonitorHandle("test");
+        assertEquals(ResumableMonitorHandle.NO_TRANSACTION_ID, handle.getLastTransactionId());
+
+        TableUpdates updates = handle.applyMonitorReply(json("[false, 'txn1', {'Bridge': {"
+                + "'" + BR0 + "': {'initial': {'name': 'br0', 'external_ids': ['map', [['a', '1'], ['b', '2']]],"
+                + " 'flood_vlans': ['set', [1, 2]], 'datapath_id': ['set', []]}}}}]"), dbSchema);
+        assertEquals("txn1", handle.getLastTransactionId());
+        assertEquals("br0", newRow(updates, BR0).getColumn(bridge.column("name", String.class)).getData());
+
+        // maps: change a, remove b, add c; sets: toggle 2 and 3; optional scalars: set a value
+        updates = handle.applyUpdates(json("{'Bridge': {'" + BR0 + "': {'modify': {"
+                + "'external_ids': ['map', [['a', '3'], ['b', '2'], ['c', '4']]],"
+                + " 'flood_vlans': ['set', [2, 3]], 'datapath_id': 'dp'}}}}"), dbSchema, "txn2");
+        assertEquals("txn2", handle.getLastTransactionId());
+        Row<GenericTableSchema> row = newRow(updates, BR0);
+        assertEquals("br0", row.getColumn(bridge.column("name", String.class)).getData());
+        assertEquals(ImmutableMap.of("a", "3", "c", "4"), row.getColumn(bridge.multiValuedColumn("external_ids",
+                String.class, String.class)).getData());
+        assertEquals(ImmutableSet.of(1L, 3L),
+                row.getColumn(bridge.multiValuedColumn("flood_vlans", Long.class)).getData());
+        assertEquals(ImmutableSet.of("dp"),
+                row.getColumn(bridge.multiValuedColumn("datapath_id", String.class)).getData());
+        Row<GenericTableSchema> old = updates.getUpdate(bridge).getOld(new UUID(BR0));
+        assertEquals(3, old.getColumns().size());
+        assertEquals(ImmutableMap.of("a", "1", "b", "2"), old.getColumn(bridge.multiValuedColumn("external_ids",
+                String.class, String.class)).getData());
+
+        // optional scalars: the new value replaces the old one, an empty set clears it
+        updates = handle.applyUpdates(json("{'Bridge': {'" + BR0 + "': {'modify': {'datapath_id': 'dp2'}}}}"),
+                dbSchema, "txn3");
+        assertEquals(ImmutableSet.of("dp2"),
+                newRow(updates, BR0).getColumn(bridge.multiValuedColumn("datapath_id", String.class)).getData());
+        updates = handle.applyUpdates(json("{'Bridge': {'" + BR0 + "': {'modify': {'datapath_id': ['set', []]}}}}"),
+                dbSchema, "txn4");
+        assertEquals(ImmutableSet.of(),
+                newRow(updates, BR0).getColumn(bridge.multiValuedColumn("datapath_id", String.class)).getData());
+        assertEquals(ImmutableSet.of("dp2"), updates.getUpdate(bridge).getOld(new UUID(BR0))
+                .getColumn(bridge.multiValuedColumn("datapath_id", String.class)).getData());
+
+        updates = handle.applyUpdates(json("{'Bridge': {'" + BR1 + "': {'insert': {'name': 'br1'}},"
+                + " '" + BR0 + "': {'delete': null}}}"), dbSchema, "txn5");
+        assertEquals("br1", newRow(updates, BR1).getColumn(bridge.column("name", String.class)).getData());
+        assertNull(newRow(updates, BR0));
+        assertNotNull(updates.getUpdate(bridge).getOld(new UUID(BR0)));
+    }
+
+    /**
+     * Test that rows missing from a full resync are reported as deleted.
+     */
+    @Test
+    public void testResync() throws IOException {
+        ResumableMonitorHandle handle = new ResumableMonitorHandle("test");
+        handle.applyMonitorReply(json("[false, 'txn1', {'Bridge': {"
+                + "'" + BR0 + "': {'initial': {'name': 'br0'}}, '" + BR1 + "': {'initial': {'name': 'br1'}}}}]"),
+                dbSchema);
+
+        TableUpdates updates = handle.applyMonitorReply(json("[false, 'txn5', {'Bridge': {"
+                + "'" + BR1 + "': {'initial': {'name': 'br1'}}}}]"), dbSchema);
+        assertEquals("txn5", handle.getLastTransactionId());
+        TableUpdate<GenericTableSchema> tableUpdate = updates.getUpdate(bridge);
+        assertNull(tableUpdate.getNew(new UUID(BR0)));
+        assertEquals("br0", tableUpdate.getOld(new UUID(BR0)).getColumn(bridge.column("name", String.class))
+                .getData());
+        assertNotNull(tableUpdate.getNew(new UUID(BR1)));
+
+        // changes since the last transaction only
+        updates = handle.applyMonitorReply(json("[true, 'txn6', {}]"), dbSchema);
+        assertTrue(updates.getUpdates().isEmpty());
+        assertEquals("txn6", handle.getLastTransactionId());
+    }
+
+    /**
+     * Test that update2 diffs decoded from the token stream give the same rows as from a tree.
+     */
+    @Test
+    public void testStreamingUpdates() throws IOException {
+        String initial = "{'Bridge': {'" + BR0 + "': {'initial': {'name': 'br0',"
+                + " 'external_ids': ['map', [['a', '1'], ['b', '2']]]}}}}";
+        String modify = "{'Bridge': {'" + BR0 + "': {'modify': {'external_ids': ['map', [['b', '2'], ['c', '3']]]}},"
+                + " '" + BR1 + "': {'insert': {'name': 'br1'}}}, 'Unknown': {'x': {'delete': null}}}";
+        ResumableMonitorHandle treeHandle = new ResumableMonitorHandle("tree");
+        treeHandle.applyUpdates(json(initial), dbSchema, "txn1");
+        TableUpdates expected = treeHandle.applyUpdates(json(modify), dbSchema, "txn2");
+
+        ResumableMonitorHandle streamHandle = new ResumableMonitorHandle("stream");
+        try (JsonParser parser = parser(initial)) {
+            streamHandle.applyUpdates(parser, dbSchema, "txn1");
+        }
+        TableUpdates updates;
+        try (JsonParser parser = parser(modify)) {
+            updates = streamHandle.applyUpdates(parser, dbSchema, "txn2");
+        }
+        assertEquals("txn2", streamHandle.getLastTransactionId());
+        assertEquals(ImmutableMap.of("a", "1", "c", "3"), newRow(updates, BR0).getColumn(
+                bridge.multiValuedColumn("external_ids", String.class, String.class)).getData());
+        assertEquals(expected.getUpdate(bridge).getRows().keySet(), updates.getUpdate(bridge).getRows().keySet());
+        assertEquals(newRow(expected, BR0).getColumns().size(), newRow(updates, BR0).getColumns().size());
+        assertEquals("br1", newRow(updates, BR1).getColumn(bridge.column("name", String.class)).getData());
+    }
+
+    private static Row<GenericTableSchema> newRow(TableUpdates updates, String uuid) {
+        return ((TableUpdate<GenericTableSchema>) updates.getUpdates().get("Bridge")).getNew(new UUID(uuid));
+    }
+
+    private JsonNode json(String text) throws IOException {
+        return mapper.readTree(text.replace('\'', '"'));
+    }
+
+    private JsonParser parser(String text) throws IOException {
+        JsonParser parser = mapper.getFactory().createParser(text.replace('\'', '"'));
+        parser.nextToken();
+        return parser;
+    }
+}
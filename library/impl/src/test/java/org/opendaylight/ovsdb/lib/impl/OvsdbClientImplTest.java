@@ -0,0 +1,293 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.reflect.Reflection;
+import com.google.common.util.concurrent.Futures;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.MonitorCallBack;
+import org.opendaylight.ovsdb.lib.MonitorHandle;
+import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.ConnectionType;
+import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
+import org.opendaylight.ovsdb.lib.ResumableMonitorHandle;
+import org.opendaylight.ovsdb.lib.error.JsonRpcErrorException;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcEndpoint;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcServiceBinderHandler;
+import org.opendaylight.ovsdb.lib.jsonrpc.Params;
+import org.opendaylight.ovsdb.lib.jsonrpc.SerialDispatcher;
+import org.opendaylight.ovsdb.lib.message.MonitorRequest;
+import org.opendaylight.ovsdb.lib.message.MonitorRequestBuilder;
+import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.message.UpdateNotification;
+import org.opendaylight.ovsdb.lib.notation.Condition;
+import org.opendaylight.ovsdb.lib.notation.Function;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class OvsdbClientImplTest {
+
+    private static final String BR0 = "788de61c-0e4f-43d8-a068-259e75aabbba";
+
+    private final ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(Include.NON_NULL);
+    // replies of the stub rpc, by method
+    private final Map<String, String> replies = new HashMap<>();
+    // JSON-RPC errors replied by the stub rpc, by method
+    private final Map<String, String> errors = new HashMap<>();
+    // params sent through the stub rpc, by method
+    private final Map<String, JsonNode> requests = new HashMap<>();
+    private OvsdbRPC.Callback rpcCallback;
+    private OvsdbClientImpl client;
+    private DatabaseSchema dbSchema;
+    private GenericTableSchema bridge;
+
+    @Before
+    public void setUp() throws IOException {
+        dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result"));
+        bridge = dbSchema.table("Bridge", GenericTableSchema.class);
+        client = new OvsdbClientImpl();
+        client.setRpc(Reflection.newProxy(OvsdbRPC.class, (proxy, method, args) -> {
+            if (method.getName().equals(OvsdbRPC.REGISTER_CALLBACK_METHOD)) {
+                rpcCallback = (OvsdbRPC.Callback) args[0];
+                return true;
+            }
+            requests.put(method.getName(), mapper.valueToTree(((Params) args[0]).params()));
+            String error = errors.get(method.getName());
+            if (error != null) {
+                return Futures.immediateFailedFuture(new JsonRpcErrorException(method.getName(), json(error)));
+            }
+            String reply = replies.get(method.getName());
+            return Futures.immediateFuture(reply != null ? json(reply) : null);
+        }));
+    }
+
+    @Test
+    public void testConditionalMonitor() throws Exception {
+        List<TableUpdates> updates = new ArrayList<>();
+        MonitorRequest request = new MonitorRequestBuilder<>(bridge).addColumn("name").addColumn("external_ids")
+                .addCondition(new Condition("name", Function.EQUALS, "br0")).build();
+        replies.put("monitor_cond", "{'Bridge': {'" + BR0 + "': {'initial': {'name': 'br0',"
+                + " 'external_ids': ['map', [['a', '1']]]}}}}");
+
+        TableUpdates initial = client.monitor(dbSchema, Collections.singletonList(request),
+                new MonitorHandle("cond"), new RecordingCallBack(updates));
+        JsonNode params = requests.get("monitor_cond");
+        assertEquals(json("['Open_vSwitch', 'cond']"), json(params.get(0), params.get(1)));
+        assertEquals(json("[['name', '==', 'br0']]"), params.get(2).get("Bridge").get("where"));
+        assertEquals(2, params.get(2).get("Bridge").get("columns").size());
+        assertNotNull(initial.getUpdate(bridge).getNew(new UUID(BR0)));
+
+        // update2 diffs are applied to the rows of the monitor
+        UpdateNotification update = new UpdateNotification();
+        update.setContext("cond");
+        update.setUpdates(json("{'Bridge': {'" + BR0 + "': {'modify': {'external_ids': ['map', [['b', '2']]]}}}}"));
+        rpcCallback.update2(null, update);
+        assertEquals(1, updates.size());
+        Row<GenericTableSchema> row = updates.get(0).getUpdate(bridge).getNew(new UUID(BR0));
+        assertEquals("br0", row.getColumn(bridge.column("name", String.class)).getData());
+        assertEquals(2, row.getColumn(bridge.multiValuedColumn("external_ids", String.class, String.class))
+                .getData().size());
+
+        replies.put("monitor_cond_change", "null");
+        request.setWhere(Collections.singletonList(new Condition("name", Function.EQUALS, "br1")));
+        assertTrue(client.changeMonitorConditions(new MonitorHandle("cond"), Collections.singletonList(request))
+                .get());
+        assertEquals(json("['cond', 'cond', {'Bridge': {'where': [['name', '==', 'br1']]}}]"),
+                requests.get("monitor_cond_change"));
+
+        // a rejected change fails
+        errors.put("monitor_cond_change", "{'error': 'syntax error', 'details': 'no such column'}");
+        try {
+            client.changeMonitorConditions(new MonitorHandle("cond"), Collections.singletonList(request)).get();
+            fail("Expected the change to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof JsonRpcErrorException);
+        }
+
+        // the conditions of monitors without handle are sent with monitor_cond as well
+        requests.clear();
+        client.monitor(dbSchema, Collections.singletonList(request), new RecordingCallBack(new ArrayList<>()));
+        assertEquals(json("[['name', '==', 'br1']]"), requests.get("monitor_cond").get(2).get("Bridge").get("where"));
+        assertNull(requests.get("monitor"));
+    }
+
+    @Test
+    public void testConditionalMonitorFallback() throws Exception {
+        MonitorRequest request = new MonitorRequestBuilder<>(bridge).addColumn("name")
+                .addCondition(new Condition("name", Function.EQUALS, "br0")).build();
+        // other errors fail the monitor, without falling back
+        errors.put("monitor_cond", "{'error': 'syntax error'}");
+        assertNull(client.monitor(dbSchema, Collections.singletonList(request), new MonitorHandle("cond"),
+                new RecordingCallBack(new ArrayList<>())));
+        assertNull(requests.get("monitor"));
+
+        // the server does not know the method
+        errors.put("monitor_cond", "'unknown method'");
+        client.monitor(dbSchema, Collections.singletonList(request), new MonitorHandle("cond"),
+                new RecordingCallBack(new ArrayList<>()));
+        JsonNode params = requests.get("monitor");
+        assertTrue(params.get(2).get("Bridge").has("columns"));
+        assertFalse(params.get(2).get("Bridge").has("where"));
+    }
+
+    /**
+     * Test that resumable monitors of servers without monitor_cond_since keep their conditions when the
+     * server knows monitor_cond, and drop them otherwise.
+     */
+    @Test
+    public void testResumableMonitorFallback() throws Exception {
+        MonitorRequest request = new MonitorRequestBuilder<>(bridge).addColumn("name")
+                .addCondition(new Condition("name", Function.EQUALS, "br0")).build();
+        errors.put("monitor_cond_since", "'unknown method'");
+        replies.put("monitor_cond", "{'Bridge': {'" + BR0 + "': {'initial': {'name': 'br0'}}}}");
+        TableUpdates initial = client.monitor(dbSchema, Collections.singletonList(request),
+                new ResumableMonitorHandle("first"), new RecordingCallBack(new ArrayList<>()));
+        assertNotNull(initial.getUpdate(bridge).getNew(new UUID(BR0)));
+        assertEquals(json("[['name', '==', 'br0']]"), requests.get("monitor_cond").get(2).get("Bridge").get("where"));
+        assertNull(requests.get("monitor"));
+
+        errors.put("monitor_cond", "'unknown method'");
+        requests.clear();
+        client.monitor(dbSchema, Collections.singletonList(request), new ResumableMonitorHandle("second"),
+                new RecordingCallBack(new ArrayList<>()));
+        assertFalse(requests.get("monitor").get(2).get("Bridge").has("where"));
+    }
+
+    /**
+     * Test that plain monitors ask for update2 notifications when enabled, until the server turns out not to
+     * support monitor_cond.
+     */
+    @Test
+    public void testMonitorUpdate2() throws Exception {
+        OvsdbClientImpl.setMonitorUpdate2(true);
+        try {
+            List<MonitorRequest> requests = Collections.singletonList(
+                    new MonitorRequestBuilder<>(bridge).addColumn("name").build());
+            replies.put("monitor_cond", "{'Bridge': {'" + BR0 + "': {'initial': {'name': 'br0'}}}}");
+            TableUpdates initial = client.monitor(dbSchema, requests, new MonitorHandle("first"),
+                    new RecordingCallBack(new ArrayList<>()));
+            assertNotNull(initial.getUpdate(bridge).getNew(new UUID(BR0)));
+            assertFalse(this.requests.get("monitor_cond").get(2).get("Bridge").has("where"));
+
+            replies.remove("monitor_cond");
+            errors.put("monitor_cond", "{'error': 'unknown method'}");
+            this.requests.clear();
+            client.monitor(dbSchema, requests, new MonitorHandle("second"), new RecordingCallBack(new ArrayList<>()));
+            assertNotNull(this.requests.get("monitor_cond"));
+            assertNotNull(this.requests.get("monitor"));
+
+            this.requests.clear();
+            client.monitor(dbSchema, requests, new MonitorHandle("third"), new RecordingCallBack(new ArrayList<>()));
+            assertNull(this.requests.get("monitor_cond"));
+            assertNotNull(this.requests.get("monitor"));
+        } finally {
+            OvsdbClientImpl.setMonitorUpdate2(false);
+        }
+    }
+
+    /**
+     * Test that the outbound queue of the endpoint of a connection is visible through its client.
+     */
+    @Test
+    public void testOutboundStats() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        JsonRpcEndpoint endpoint = new JsonRpcEndpoint(mapper, channel);
+        channel.pipeline().addLast(new JsonRpcServiceBinderHandler(endpoint));
+        OvsdbClientImpl connected = new OvsdbClientImpl(endpoint.getClient(channel, OvsdbRPC.class), channel,
+                ConnectionType.ACTIVE, SocketConnectionType.NON_SSL);
+        connected.setEndpoint(endpoint);
+
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        connected.echo();
+        connected.echo();
+        channel.runPendingTasks();
+        assertEquals(2, connected.getQueuedRequests());
+        assertEquals(0, connected.getOutboundBytes());
+        // written but not flushed, counted with the overhead of the buffer
+        channel.write(Unpooled.wrappedBuffer(new byte[100]));
+        assertTrue(connected.getOutboundBytes() >= 100);
+
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        channel.runPendingTasks();
+        assertEquals(0, connected.getQueuedRequests());
+        assertEquals(0, connected.getOutboundBytes());
+        channel.finishAndReleaseAll();
+    }
+
+    /**
+     * Test that the dispatch queue of a connection is visible through its client.
+     */
+    @Test
+    public void testDispatchStats() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        List<Runnable> drains = new ArrayList<>();
+        SerialDispatcher dispatcher = new SerialDispatcher(drains::add, channel, 2);
+        client.setDispatcher(dispatcher);
+        assertFalse(client.isReadSuspended());
+
+        dispatcher.execute(() -> { });
+        dispatcher.execute(() -> { });
+        assertEquals(2, client.getDispatchQueueDepth());
+        assertTrue(client.isReadSuspended());
+        drains.get(0).run();
+        assertEquals(0, client.getDispatchQueueDepth());
+        assertEquals(2, client.getPeakDispatchQueueDepth());
+        assertEquals(2, client.getDispatchedMessages());
+        assertFalse(client.isReadSuspended());
+        channel.finishAndReleaseAll();
+    }
+
+    private JsonNode json(String text) throws IOException {
+        return mapper.readTree(text.replace('\'', '"'));
+    }
+
+    private JsonNode json(JsonNode... nodes) {
+        return mapper.createArrayNode().addAll(Arrays.asList(nodes));
+    }
+
+    private static class RecordingCallBack implements MonitorCallBack {
+        private final List<TableUpdates> updates;
+
+        RecordingCallBack(List<TableUpdates> updates) {
+            this.updates = updates;
+        }
+
+        @Override
+        public void update(TableUpdates result, DatabaseSchema dbSchema) {
+            updates.add(result);
+        }
+
+        @Override
+        public void exception(Throwable throwable) {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.notation.UuidInterner;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class ParallelUpdatesDecoderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testSameAsSequential() throws IOException {
+        DatabaseSchema dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result"));
+        ObjectNode updates = mapper.createObjectNode();
+        ObjectNode ports = updates.putObject("Port");
+        for (int i = 0; i < 1000; i++) {
+            ObjectNode port = ports.putObject(String.format("00000000-0000-0000-0000-%012d", i)).putObject("new");
+            port.put("name", "port" + i);
+            port.putArray("interfaces").add("uuid").add(String.format("00000000-0000-0000-0001-%012d", i));
+        }
+        ObjectNode bridge = updates.putObject("Bridge").putObject("00000000-0000-0000-0002-000000000000");
+        bridge.putObject("old").put("name", "br0");
+        bridge.putObject("new").put("name", "br1");
+        assertEquals(1001, ParallelUpdatesDecoder.rowCount(updates));
+
+        TableUpdates expected = ParallelUpdatesDecoder.decode(updates, dbSchema, null, Integer.MAX_VALUE);
+        UuidInterner interner = new UuidInterner();
+        TableUpdates actual = ParallelUpdatesDecoder.decode(updates, dbSchema, interner, 10);
+
+        GenericTableSchema portTable = dbSchema.table("Port", GenericTableSchema.class);
+        assertRowsEqual(expected.getUpdate(portTable), actual.getUpdate(portTable));
+        GenericTableSchema bridgeTable = dbSchema.table("Bridge", GenericTableSchema.class);
+        assertRowsEqual(expected.getUpdate(bridgeTable), actual.getUpdate(bridgeTable));
+
+        // the workers interned the UUIDs in the table of the connection
+        UUID uuid = new UUID("00000000-0000-0000-0000-000000000042");
+        assertSame(interner.intern(uuid), actual.getUpdate(portTable).getRows().get(uuid).getUuid());
+    }
+
+    private static void assertRowsEqual(TableUpdate<GenericTableSchema> expected,
+            TableUpdate<GenericTableSchema> actual) {
+        assertEquals(expected.getRows().keySet(), actual.getRows().keySet());
+        for (Map.Entry<UUID, TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema>> entry
+                : expected.getRows().entrySet()) {
+            Row<GenericTableSchema> oldRow = entry.getValue().getOld();
+            Row<GenericTableSchema> newRow = entry.getValue().getNew();
+            assertEquals(oldRow, actual.getOld(entry.getKey()));
+            assertEquals(newRow, actual.getNew(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.operations.Comment;
+import org.opendaylight.ovsdb.lib.operations.Commit;
+import org.opendaylight.ovsdb.lib.operations.Operation;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+
+public class TransactCoalescerTest {
+
+    private final DatabaseSchema dbSchema = new DatabaseSchema(Collections.emptyMap());
+    // operations of the transact requests sent, and their replies
+    private final List<List<Operation>> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<SettableFuture<List<OperationResult>>> replies = new ArrayList<>();
+    // a long window, the tests flush explicitly
+    private final TransactCoalescer coalescer = new TransactCoalescer((schema, operations) -> {
+        SettableFuture<List<OperationResult>> reply = SettableFuture.create();
+        requests.add(operations);
+        replies.add(reply);
+        return reply;
+    }, 60000, 4);
+
+    @Test
+    public void testMergedAndSplit() throws Exception {
+        ListenableFuture<List<OperationResult>> first = coalescer.transact(dbSchema, operations("a"));
+        ListenableFuture<List<OperationResult>> second = coalescer.transact(dbSchema, operations("b", "c"));
+        assertEquals(0, requests.size());
+        coalescer.flush();
+
+        assertEquals(1, requests.size());
+        assertEquals(3, requests.get(0).size());
+        List<OperationResult> results = Arrays.asList(result(null), result(null), result(null));
+        replies.get(0).set(results);
+        assertEquals(results.subList(0, 1), first.get());
+        assertEquals(results.subList(1, 3), second.get());
+    }
+
+    @Test
+    public void testFull() {
+        coalescer.transact(dbSchema, operations("a", "b"));
+        coalescer.transact(dbSchema, operations("c", "d"));
+        // sent as soon as the maximum number of operations is reached
+        assertEquals(1, requests.size());
+        assertEquals(4, requests.get(0).size());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        ListenableFuture<List<OperationResult>> first = coalescer.transact(dbSchema, operations("a"));
+        ListenableFuture<List<OperationResult>> second = coalescer.transact(dbSchema, operations("b"));
+        ListenableFuture<List<OperationResult>> third = coalescer.transact(dbSchema, operations("c"));
+        coalescer.flush();
+
+        // the first transaction ran as if alone, it gets its error, the others are sent again
+        OperationResult error = result("constraint violation");
+        replies.get(0).set(Arrays.asList(error, result(null), result(null)));
+        assertEquals(Collections.singletonList(error), first.get());
+        assertFalse(second.isDone());
+        assertEquals(2, requests.size());
+        assertEquals(2, requests.get(1).size());
+
+        OperationResult secondResult = result(null);
+        OperationResult thirdResult = result(null);
+        replies.get(1).set(Arrays.asList(secondResult, thirdResult));
+        assertEquals(Collections.singletonList(secondResult), second.get());
+        assertEquals(Collections.singletonList(thirdResult), third.get());
+        assertNull(third.get().get(0).getError());
+    }
+
+    /**
+     * Test that the failure of a transaction which may be caused by the transactions before it, e.g. a wait
+     * on a row they changed, is not attributed to it before it is sent alone.
+     */
+    @Test
+    public void testFailureAfterOthers() throws Exception {
+        ListenableFuture<List<OperationResult>> first = coalescer.transact(dbSchema, operations("delete"));
+        ListenableFuture<List<OperationResult>> second = coalescer.transact(dbSchema, operations("wait"));
+        ListenableFuture<List<OperationResult>> third = coalescer.transact(dbSchema, operations("c"));
+        coalescer.flush();
+
+        replies.get(0).set(Arrays.asList(result(null), result("timed out"), result(null)));
+        assertFalse(second.isDone());
+        // the others are sent again first, then the failing transaction alone
+        assertEquals(3, requests.size());
+        assertEquals(2, requests.get(1).size());
+        assertEquals(1, requests.get(2).size());
+
+        replies.get(1).set(Arrays.asList(result(null), result(null)));
+        assertNull(first.get().get(0).getError());
+        assertNull(third.get().get(0).getError());
+        OperationResult error = result("timed out");
+        replies.get(2).set(Collections.singletonList(error));
+        assertEquals(Collections.singletonList(error), second.get());
+    }
+
+    /**
+     * Test that the timer of a window does not cut short the next window.
+     */
+    @Test
+    public void testWindowTimer() throws Exception {
+        TransactCoalescer timed = new TransactCoalescer((schema, operations) -> {
+            requests.add(operations);
+            return SettableFuture.create();
+        }, 1000, 100);
+        timed.transact(dbSchema, operations("a"));
+        timed.flush();
+        Thread.sleep(500);
+        timed.transact(dbSchema, operations("b"));
+        Thread.sleep(700);
+        assertEquals(1, requests.size());
+        timed.flush();
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testCommitFailure() throws Exception {
+        ListenableFuture<List<OperationResult>> first = coalescer.transact(dbSchema, operations("a"));
+        ListenableFuture<List<OperationResult>> second = coalescer.transact(dbSchema, operations("b"));
+        coalescer.flush();
+
+        // the extra result of a failed commit can not be attributed, each transaction is sent alone
+        replies.get(0).set(Arrays.asList(result(null), result(null), result("referential integrity violation")));
+        assertEquals(3, requests.size());
+        OperationResult error = result("referential integrity violation");
+        replies.get(1).set(Collections.singletonList(result(null)));
+        replies.get(2).set(Arrays.asList(result(null), error));
+        assertEquals(1, first.get().size());
+        assertEquals(error, second.get().get(1));
+    }
+
+    /**
+     * Test that a transaction which is not merged is sent after the transactions submitted before it.
+     */
+    @Test
+    public void testNotCoalescedOrder() {
+        coalescer.transact(dbSchema, operations("a"));
+        List<Operation> committing = operations("b");
+        committing.add(new Commit(true));
+        coalescer.transact(dbSchema, committing);
+        assertEquals(2, requests.size());
+        assertEquals(1, requests.get(0).size());
+        assertEquals(committing, requests.get(1));
+
+        // a wait with a timeout would hold back the transactions merged with it
+        coalescer.transact(dbSchema, operations("c"));
+        coalescer.transact(dbSchema, Collections.singletonList(new TestWait(1000)));
+        assertEquals(4, requests.size());
+        coalescer.transact(dbSchema, Collections.singletonList(new TestWait(0)));
+        assertEquals(4, requests.size());
+    }
+
+    private static List<Operation> operations(String... comments) {
+        List<Operation> operations = new ArrayList<>();
+        for (String comment : comments) {
+            operations.add(new Comment(comment));
+        }
+        return operations;
+    }
+
+    private static final class TestWait extends Operation {
+        private final long timeout;
+
+        TestWait(long timeout) {
+            super(null, "wait");
+            this.timeout = timeout;
+        }
+
+        public long getTimeout() {
+            return timeout;
+        }
+    }
+
+    private static OperationResult result(String error) {
+        OperationResult result = new OperationResult();
+        result.setError(error);
+        return result;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.error.JsonRpcErrorException;
+import org.opendaylight.ovsdb.lib.error.OutboundQueueFullException;
+import org.opendaylight.ovsdb.lib.impl.OvsdbConnectionService;
+import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.message.UpdateNotification;
+
+public class JsonRpcEndpointTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel();
+    }
+
+    @Test
+    public void testResultDispatch() throws Exception {
+        checkResultDispatch(false);
+        checkResultDispatch(true);
+    }
+
+    @Test
+    public void testCallbackDispatch() throws Exception {
+        checkCallbackDispatch(false);
+        checkCallbackDispatch(true);
+    }
+
+    /**
+     * Test that requests are queued while the channel is not writable, and that a full queue fails fast.
+     */
+    @Test
+    public void testOutboundQueue() throws Exception {
+        JsonRpcEndpoint endpoint = new JsonRpcEndpoint(mapper, channel);
+        channel.pipeline().addLast(new JsonRpcServiceBinderHandler(endpoint));
+        OvsdbRPC rpc = endpoint.getClient(channel, OvsdbRPC.class);
+        JsonRpcEndpoint.setMaxQueuedRequests(2);
+        try {
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+            ListenableFuture<List<String>> first = rpc.echo();
+            ListenableFuture<List<String>> second = rpc.echo();
+            ListenableFuture<List<String>> third = rpc.echo();
+            channel.runPendingTasks();
+            assertEquals(2, endpoint.getQueuedRequests());
+            assertNull(channel.readOutbound());
+            try {
+                third.get();
+                fail("Expected the request to be rejected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof OutboundQueueFullException);
+            }
+
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+            channel.runPendingTasks();
+            assertEquals(0, endpoint.getQueuedRequests());
+            JsonRpc10Request request = channel.readOutbound();
+            assertEquals(first, endpoint.getMethodContext().get(request.getNumericId()).getFuture());
+            request = channel.readOutbound();
+            assertEquals(second, endpoint.getMethodContext().get(request.getNumericId()).getFuture());
+            assertEquals(2, endpoint.getMethodContext().size());
+        } finally {
+            JsonRpcEndpoint.setMaxQueuedRequests(10000);
+        }
+    }
+
+    /**
+     * Test that a caller waiting for room in a full queue gives up after the timeout of its method. The caller
+     * only waits out of the event loop, which an embedded channel does not have, hence a local channel.
+     */
+    @Test
+    public void testParkedRequestTimeout() throws Exception {
+        EventLoopGroup group = new DefaultEventLoopGroup(1);
+        LocalAddress address = new LocalAddress("parked-request-timeout");
+        JsonRpcEndpoint.setMaxQueuedRequests(1);
+        JsonRpcEndpoint.setParkWhenQueueFull(true);
+        JsonRpcEndpoint.setReaperInterval(60000);
+        JsonRpcEndpoint.setReaperInterval("echo", 200);
+        try {
+            new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                    .childHandler(new ChannelInboundHandlerAdapter()).bind(address).sync();
+            Channel local = new Bootstrap().group(group).channel(LocalChannel.class)
+                    .handler(new ChannelInboundHandlerAdapter()).connect(address).sync().channel();
+            JsonRpcEndpoint endpoint = new JsonRpcEndpoint(mapper, local);
+            OvsdbRPC rpc = endpoint.getClient(local, OvsdbRPC.class);
+            local.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+            rpc.echo();
+            assertEquals(1, endpoint.getQueuedRequests());
+
+            long start = System.nanoTime();
+            ListenableFuture<List<String>> parked = rpc.echo();
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue("Waited " + waited + " ms", waited >= 150 && waited < 10000);
+            try {
+                parked.get();
+                fail("Expected the request to be rejected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof OutboundQueueFullException);
+            }
+        } finally {
+            JsonRpcEndpoint.setMaxQueuedRequests(10000);
+            JsonRpcEndpoint.setParkWhenQueueFull(false);
+            JsonRpcEndpoint.setReaperInterval(1000);
+            JsonRpcEndpoint.setReaperIntervals(Collections.emptyMap());
+            group.shutdownGracefully().sync();
+        }
+    }
+
+    /**
+     * Test that the method timeouts follow the whole configuration, keys matched regardless of their case.
+     */
+    @Test
+    public void testMethodReaperIntervals() {
+        OvsdbConnectionService service = new OvsdbConnectionService();
+        Map<String, Object> config = new HashMap<>();
+        config.put("ovsdb-rpc-task-timeout", "1000");
+        config.put("OVSDB-RPC-TASK-TIMEOUT-Monitor", "10000");
+        config.put("ovsdb-rpc-task-timeout-transact", "5000");
+        try {
+            service.updateConfigParameter(config);
+            assertEquals(10000, JsonRpcEndpoint.getReaperInterval("monitor"));
+            assertEquals(5000, JsonRpcEndpoint.getReaperInterval("transact"));
+            assertEquals(1000, JsonRpcEndpoint.getReaperInterval("echo"));
+
+            // removed from the configuration
+            config.remove("ovsdb-rpc-task-timeout-transact");
+            service.updateConfigParameter(config);
+            assertEquals(1000, JsonRpcEndpoint.getReaperInterval("transact"));
+            assertEquals(10000, JsonRpcEndpoint.getReaperInterval("monitor"));
+        } finally {
+            JsonRpcEndpoint.setReaperIntervals(Collections.emptyMap());
+        }
+    }
+
+    @Test
+    public void testFlushConsolidation() throws Exception {
+        JsonRpcEndpoint endpoint = new JsonRpcEndpoint(mapper, channel);
+        OvsdbRPC rpc = endpoint.getClient(channel, OvsdbRPC.class);
+        JsonRpcEndpoint.setConsolidateFlushes(true);
+        try {
+            // the flush is left to a task of the event loop
+            rpc.echo();
+            assertNull(channel.readOutbound());
+            channel.runPendingTasks();
+            assertNotNull(channel.readOutbound());
+
+            // reaching the max number of writes forces a flush
+            JsonRpcEndpoint.setMaxWritesPerFlush(1);
+            rpc.echo();
+            assertNotNull(channel.readOutbound());
+        } finally {
+            JsonRpcEndpoint.setConsolidateFlushes(false);
+            JsonRpcEndpoint.setMaxWritesPerFlush(64);
+        }
+    }
+
+    /**
+     * Test that raw updates and monitor replies are handed over as parsers over the encoded messages.
+     */
+    @Test
+    public void testRawMessages() throws Exception {
+        JsonRpcEndpoint endpoint = new JsonRpcEndpoint(mapper, channel);
+        OvsdbRPC rpc = endpoint.getClient(channel, OvsdbRPC.class);
+        RecordingCallback callback = new RecordingCallback();
+        assertTrue(rpc.registerCallback(callback));
+
+        endpoint.processRequest(channel, RawJsonRpcMessage.scan(
+                "{\"id\":null,\"method\":\"update\",\"params\":[\"ctx\",{\"Bridge\":{}}]}".getBytes(UTF_8)));
+        assertEquals("ctx", callback.update.getContext());
+        assertNull(callback.update.getUpdates());
+        assertEquals("Bridge", callback.firstTable);
+
+        ListenableFuture<JsonParser> monitor = rpc.monitorStreaming(() -> Arrays.asList("Open_vSwitch", "x"));
+        JsonRpc10Request request = channel.readOutbound();
+        assertEquals("monitor", request.getMethod());
+        RawJsonRpcMessage response = RawJsonRpcMessage.scan(("{\"id\":" + request.getId()
+                + ",\"result\":{\"Bridge\":{}},\"error\":null}").getBytes(UTF_8));
+        assertTrue(response.isResponse());
+        endpoint.processResult(response);
+        try (JsonParser parser = monitor.get(1, TimeUnit.SECONDS)) {
+            assertEquals(JsonToken.START_OBJECT, parser.getCurrentToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("Bridge", parser.getCurrentName());
+        }
+        assertTrue(endpoint.getMethodContext().isEmpty());
+    }
+
+    private void checkResultDispatch(boolean precomputed) throws Exception {
+        JsonRpcEndpoint endpoint = new JsonRpcEndpoint(mapper, channel, precomputed);
+        OvsdbRPC rpc = endpoint.getClient(channel, OvsdbRPC.class);
+
+        ListenableFuture<List<String>> dbs = rpc.list_dbs();
+        JsonRpc10Request request = channel.readOutbound();
+        endpoint.processResult(mapper.readTree(
+                "{\"id\":" + request.getId() + ",\"result\":[\"Open_vSwitch\",\"hardware_vtep\"],\"error\":null}"));
+        assertEquals(Arrays.asList("Open_vSwitch", "hardware_vtep"), dbs.get(1, TimeUnit.SECONDS));
+
+        ListenableFuture<JsonNode> schema = rpc.get_schema(Arrays.asList("Open_vSwitch"));
+        request = channel.readOutbound();
+        JsonNode response = mapper.readTree("{\"id\":\"" + request.getId() + "\",\"result\":{\"name\":\"x\"}}");
+        endpoint.processResult(response);
+        assertEquals("x", schema.get(1, TimeUnit.SECONDS).get("name").asText());
+
+        // error replies fail the future
+        schema = rpc.get_schema(Arrays.asList("Open_vSwitch"));
+        request = channel.readOutbound();
+        endpoint.processResult(mapper.readTree(
+                "{\"id\":" + request.getId() + ",\"result\":null,\"error\":\"unknown method\"}"));
+        try {
+            schema.get(1, TimeUnit.SECONDS);
+            fail("Expected the request to fail");
+        } catch (ExecutionException e) {
+            assertTrue(((JsonRpcErrorException) e.getCause()).isUnknownMethod());
+        }
+
+        assertTrue(endpoint.getMethodContext().isEmpty());
+    }
+
+    private void checkCallbackDispatch(boolean precomputed) throws Exception {
+        JsonRpcEndpoint endpoint = new JsonRpcEndpoint(mapper, channel, precomputed);
+        OvsdbRPC rpc = endpoint.getClient(channel, OvsdbRPC.class);
+        RecordingCallback callback = new RecordingCallback();
+        assertTrue(rpc.registerCallback(callback));
+
+        endpoint.processRequest(channel, mapper.readTree(
+                "{\"id\":null,\"method\":\"update\",\"params\":[\"ctx\",{\"Bridge\":{}}]}"));
+        assertSame(channel, callback.node);
+        assertEquals("ctx", callback.update.getContext());
+        assertTrue(callback.update.getUpdates().has("Bridge"));
+    }
+
+    private static class RecordingCallback implements OvsdbRPC.Callback {
+        Object node;
+        UpdateNotification update;
+        String firstTable;
+
+        @Override
+        public void update(Object context, UpdateNotification updateNotification) {
+            this.node = context;
+            this.update = updateNotification;
+            JsonParser parser = updateNotification.getUpdatesParser();
+            if (parser != null) {
+                // the parser is only valid for the duration of the callback
+                try {
+                    parser.nextToken();
+                    firstTable = parser.getCurrentName();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public void locked(Object context, List<String> ids) {
+        }
+
+        @Override
+        public void stolen(Object context, List<String> ids) {
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class PendingCallTableTest {
+
+    /**
+     * Test the table against a HashMap with a random mix of inserts and removals,
+     * the way outstanding calls are added and completed out of order.
+     */
+    @Test
+    public void testRandomOperations() {
+        PendingCallTable<String> table = new PendingCallTable<>();
+        Map<Long, String> reference = new HashMap<>();
+        Random random = new Random(42);
+        long nextId = 1;
+        for (int i = 0; i < 100000; i++) {
+            if (reference.isEmpty() || random.nextInt(3) > 0) {
+                String value = "call-" + nextId;
+                table.put(nextId, value);
+                reference.put(nextId, value);
+                nextId++;
+            } else {
+                long id = 1 + random.nextInt((int) nextId);
+                assertEquals(reference.remove(id), table.remove(id));
+            }
+            assertEquals(reference.size(), table.size());
+        }
+        for (Map.Entry<Long, String> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), table.get(entry.getKey()));
+        }
+        assertEquals(reference.size(), table.drain().size());
+        assertTrue(table.isEmpty());
+        assertNull(table.get(1));
+    }
+
+    @Test
+    public void testParseRequestId() {
+        JsonNodeFactory factory = JsonNodeFactory.instance;
+        assertEquals(12345, JsonRpcEndpoint.parseRequestId(factory.numberNode(12345L)));
+        assertEquals(678, JsonRpcEndpoint.parseRequestId(factory.textNode("678")));
+        assertEquals(0, JsonRpcEndpoint.parseRequestId(factory.textNode("echo")));
+        assertEquals(0, JsonRpcEndpoint.parseRequestId(factory.nullNode()));
+        assertEquals(0, JsonRpcEndpoint.parseRequestId(null));
+    }
+}
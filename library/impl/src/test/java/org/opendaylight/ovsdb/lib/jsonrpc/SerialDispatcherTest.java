@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import org.junit.Test;
+
+public class SerialDispatcherTest {
+
+    private final Queue<Runnable> pool = new ArrayDeque<>();
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+
+    /**
+     * Test that tasks run in order, and that reading is suspended while too many are pending.
+     */
+    @Test
+    public void testOrderAndReadSuspension() {
+        SerialDispatcher dispatcher = new SerialDispatcher(pool::add, channel, 100);
+        List<Integer> executed = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            final int task = i;
+            dispatcher.execute(() -> executed.add(task));
+        }
+        assertEquals(150, dispatcher.getQueueDepth());
+        assertTrue(dispatcher.isReadSuspended());
+        assertFalse(channel.config().isAutoRead());
+        // only a single drain is scheduled at a time
+        assertEquals(1, pool.size());
+
+        while (!pool.isEmpty()) {
+            pool.poll().run();
+        }
+        assertEquals(150, executed.size());
+        for (int i = 0; i < executed.size(); i++) {
+            assertEquals(i, executed.get(i).intValue());
+        }
+        assertEquals(0, dispatcher.getQueueDepth());
+        assertEquals(150, dispatcher.getPeakQueueDepth());
+        assertEquals(150, dispatcher.getExecutedTasks());
+        assertFalse(dispatcher.isReadSuspended());
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    public void testFailingTask() {
+        SerialDispatcher dispatcher = new SerialDispatcher(pool::add, channel, 10);
+        List<String> executed = new ArrayList<>();
+        dispatcher.execute(() -> {
+            throw new IllegalStateException("test");
+        });
+        dispatcher.execute(() -> executed.add("next"));
+        pool.poll().run();
+        assertEquals(1, executed.size());
+        assertEquals(0, dispatcher.getQueueDepth());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.io.Resources;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.util.CharsetUtil;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamingJsonRpcDecoderTest {
+
+    String testJson;
+    String prettyTestJson;
+    static final String PREAMBLE = "                    ";
+    static final String ESCAPED = "{\"id\":\"a\\\\\",\"method\":\"echo\",\"params\":[\"}{\\\"\"]}";
+
+    StreamingJsonRpcDecoder decoder;
+    EmbeddedChannel ch;
+
+    @Before
+    public void setUp() throws Exception {
+        decoder = new StreamingJsonRpcDecoder(1000);
+        ch = new EmbeddedChannel(decoder);
+
+        URL testJsonUrl = Resources.getResource(StreamingJsonRpcDecoderTest.class, "test.json");
+        testJson = Resources.toString(testJsonUrl, StandardCharsets.UTF_8);
+        URL prettyTestJsoUrl = Resources.getResource(StreamingJsonRpcDecoderTest.class, "pretty-test.json");
+        prettyTestJson = Resources.toString(prettyTestJsoUrl, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test decoding several records delivered back to back in heap and direct buffers.
+     */
+    @Test
+    public void testDecode() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            ch.writeInbound(copiedBuffer(testJson, CharsetUtil.UTF_8));
+            ByteBuf direct = Unpooled.directBuffer();
+            direct.writeCharSequence(PREAMBLE + testJson, CharsetUtil.UTF_8);
+            ch.writeInbound(direct);
+        }
+        for (int i = 0; i < 10; i++) {
+            JsonNode node = ch.readInbound();
+            assertEquals(800, node.get("Image").get("Width").asInt());
+        }
+        assertEquals(10, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    @Test
+    public void testDecodePrettyJson() throws Exception {
+        ch.writeInbound(copiedBuffer(prettyTestJson, CharsetUtil.UTF_8));
+        ch.readInbound();
+        assertEquals(1, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    /**
+     * Test that a record split at every single byte is reassembled, including
+     * escaped quotes and braces inside strings.
+     */
+    @Test
+    public void testDecodeByteByByte() throws Exception {
+        byte[] bytes = ESCAPED.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            assertNull(ch.readInbound());
+            ch.writeInbound(Unpooled.wrappedBuffer(new byte[] {b}));
+        }
+        JsonNode node = ch.readInbound();
+        assertEquals("a\\", node.get("id").asText());
+        assertEquals("}{\"", node.get("params").get(0).asText());
+        assertEquals(1, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    @Test(expected = DecoderException.class)
+    public void testDecodeInvalidEncoding() throws Exception {
+        ch.writeInbound(copiedBuffer(testJson, CharsetUtil.UTF_16));
+        ch.finish();
+    }
+}
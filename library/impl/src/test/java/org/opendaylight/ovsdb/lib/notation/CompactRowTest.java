@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class CompactRowTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GenericTableSchema bridge;
+
+    @Before
+    public void setUp() throws IOException {
+        DatabaseSchema dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result"));
+        bridge = dbSchema.table("Bridge", GenericTableSchema.class);
+    }
+
+    @Test
+    public void testColumns() throws IOException {
+        ColumnSchema<GenericTableSchema, String> name = bridge.column("name", String.class);
+        ColumnSchema<GenericTableSchema, String> failMode = bridge.column("fail_mode", String.class);
+        Row<GenericTableSchema> row = bridge.createRow((ObjectNode) mapper.readTree("{\"name\":\"br-int\"}"));
+
+        assertTrue(row instanceof CompactRow);
+        assertEquals("br-int", row.getColumn(name).getData());
+        // partial row, the other columns are absent rather than null
+        assertNull(row.getColumn(failMode));
+        assertEquals(1, row.getColumns().size());
+
+        Row<GenericTableSchema> plain = new Row<>(bridge, Arrays.asList(new Column<>(name, "br-int")));
+        assertEquals(plain, row);
+        assertEquals(row, plain);
+        assertEquals(plain.hashCode(), row.hashCode());
+
+        CompactRow<GenericTableSchema> copy = new CompactRow<>(bridge, row);
+        copy.addColumn("fail_mode", new Column<>(failMode, "secure"));
+        assertEquals("secure", copy.getColumn(failMode).getData());
+        assertNull(row.getColumn(failMode));
+
+        // columns missing from the schema are kept too
+        ColumnSchema<GenericTableSchema, String> hidden = new ColumnSchema<>("hidden", name.getType());
+        copy.addColumn("hidden", new Column<>(hidden, "value"));
+        assertEquals("value", copy.getColumn(hidden).getData());
+        assertEquals(3, copy.getColumns().size());
+    }
+
+    @Test
+    public void testLazyColumns() throws IOException {
+        ObjectNode json = (ObjectNode) mapper.readTree(
+                "{\"name\":\"br-int\",\"external_ids\":[\"map\",[[\"bridge-id\",\"br-int\"]]]}");
+        Row<GenericTableSchema> eager = bridge.createRow(json);
+        bridge.setLazyDecoding(true);
+        try {
+            Row<GenericTableSchema> lazy = bridge.createRow(json);
+            assertEquals(eager, lazy);
+            ColumnSchema<GenericTableSchema, Map<String, String>> externalIds =
+                    bridge.multiValuedColumn("external_ids", String.class, String.class);
+            assertEquals("br-int", lazy.getColumn(externalIds).getData().get("bridge-id"));
+            // decoded once, the copies of the row share the decoded value
+            assertSame(lazy.getColumn(externalIds).getData(),
+                    new CompactRow<>(bridge, lazy).getColumn(externalIds).getData());
+
+            // a column is not decoded until it is read
+            json.putArray("external_ids").add("map").add("not-a-list");
+            Row<GenericTableSchema> invalid = bridge.createRow(json);
+            assertEquals("br-int", invalid.getColumn(bridge.column("name", String.class)).getData());
+        } finally {
+            bridge.setLazyDecoding(false);
+        }
+    }
+}
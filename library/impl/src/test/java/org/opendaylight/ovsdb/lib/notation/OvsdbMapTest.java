@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class OvsdbMapTest {
+
+    @Test
+    public void testCompactMaps() throws Exception {
+        assertEquals(ImmutableMap.of(), OvsdbMap.builder().build());
+        assertEquals(ImmutableMap.of("k", "v2"), OvsdbMap.builder().put("k", "v1").put("k", "v2").build());
+
+        OvsdbMap<String, String> small = OvsdbMap.<String, String>builder().put("a", "1").put("b", "2").build();
+        assertEquals(ImmutableMap.of("a", "1", "b", "2"), small);
+        assertEquals(ImmutableMap.of("a", "1", "b", "2").hashCode(), small.hashCode());
+        assertEquals("2", small.get("b"));
+        assertNull(small.get("c"));
+        assertFalse(small.containsKey("c"));
+
+        Map<Integer, String> values = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            values.put(i, Integer.toString(i));
+        }
+        assertEquals(values, OvsdbMap.compactCopyOf(values));
+        assertEquals("[\"map\",[[\"a\",\"1\"],[\"b\",\"2\"]]]", new ObjectMapper().writeValueAsString(small));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        OvsdbMap.compactCopyOf(ImmutableMap.of("a", "1", "b", "2")).put("c", "3");
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+public class OvsdbSetTest {
+
+    @Test
+    public void testCompactSets() throws Exception {
+        assertEquals(Collections.emptySet(), OvsdbSet.builder().build());
+        assertEquals(Collections.singleton("a"), OvsdbSet.builder().add("a").add("a").build());
+
+        OvsdbSet<String> small = OvsdbSet.compactCopyOf(Arrays.asList("a", "b", "c", "b"));
+        assertEquals(ImmutableSet.of("a", "b", "c"), small);
+        assertEquals(ImmutableSet.of("a", "b", "c").hashCode(), small.hashCode());
+        assertTrue(small.contains("c"));
+        assertFalse(small.contains("d"));
+
+        Set<Integer> values = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            values.add(i);
+        }
+        OvsdbSet<Integer> large = OvsdbSet.compactCopyOf(values);
+        assertEquals(values, large);
+        assertEquals("[\"set\",[\"a\",\"b\",\"c\"]]", new ObjectMapper().writeValueAsString(small));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        OvsdbSet.compactCopyOf(Arrays.asList("a", "b")).add("c");
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.IOException;
+import org.junit.Test;
+
+public class UUIDTest {
+
+    private static final String VALUE = "2f4cbad2-6a5e-4f4b-9c3c-0be0a5b0e0f1";
+
+    @Test
+    public void testValues() {
+        UUID uuid = new UUID(VALUE);
+        assertEquals(VALUE, uuid.toString());
+        java.util.UUID javaUuid = java.util.UUID.fromString(VALUE);
+        assertEquals(uuid, new UUID(javaUuid.getMostSignificantBits(), javaUuid.getLeastSignificantBits()));
+        assertEquals(uuid.hashCode(), new UUID(VALUE).hashCode());
+
+        // named-uuids and non canonical forms are kept as is
+        assertEquals("TXUUID", new UUID("TXUUID").toString());
+        assertEquals(VALUE.toUpperCase(), new UUID(VALUE.toUpperCase()).toString());
+        assertNotEquals(uuid, new UUID(VALUE.toUpperCase()));
+        assertEquals(new UUID("TXUUID"), new UUID("TXUUID"));
+    }
+
+    @Test
+    public void testFromJson() throws IOException {
+        JsonParser parser = new JsonFactory().createParser("{\"" + VALUE + "\":[\"TXUUID\",\"" + VALUE + "\"]}");
+        parser.nextToken();
+        parser.nextToken();
+        UUID key = UUID.fromJson(parser);
+        assertEquals(new UUID(VALUE), key);
+        parser.nextToken();
+        parser.nextToken();
+        assertEquals(new UUID("TXUUID"), UUID.fromJson(parser));
+
+        parser.nextToken();
+        assertNotSame(key, UUID.fromJson(parser));
+        try (UuidInterner.Scope scope = UuidInterner.enter(new UuidInterner())) {
+            assertSame(UUID.valueOf(VALUE), UUID.fromJson(parser));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.replica;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.MonitorCallBack;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class OvsdbReplicaTest {
+
+    private static final UUID BR0 = new UUID("788de61c-0e4f-43d8-a068-259e75aabbba");
+    private static final UUID PORT0 = new UUID("f6018e7a-7ca5-4e72-a744-a9b434f47011");
+    private static final UUID IFACE0 = new UUID("1b4ff6b9-1c47-4d2b-8d6b-3d4a0c0a3f01");
+    private static final UUID IFACE1 = new UUID("5c6e0d39-0b8e-4a34-9c0c-8f35f1f6ad02");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ReplicaIndex bridgeNames = ReplicaIndex.byColumn("Bridge", "name");
+    private final ReplicaIndex ifaceIds = ReplicaIndex.byMapKey("Interface", "external_ids", "iface-id");
+    private final ReplicaIndex portInterfaces = ReplicaIndex.byReference("Port", "interfaces");
+    private final List<Long> notifiedVersions = new ArrayList<>();
+    private DatabaseSchema dbSchema;
+    private OvsdbReplica replica;
+
+    @Before
+    public void setUp() throws IOException {
+        dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result"));
+        replica = new OvsdbReplica(new MonitorCallBack() {
+            @Override
+            public void update(TableUpdates result, DatabaseSchema schema) {
+                notifiedVersions.add(replica.snapshot().getVersion());
+            }
+
+            @Override
+            public void exception(Throwable throwable) {
+            }
+        }, bridgeNames, ifaceIds, portInterfaces);
+    }
+
+    @Test
+    public void testIndexes() throws IOException {
+        replica.update(updates("{'Bridge': {'" + BR0 + "': {'new': {'name': 'br0'}}},"
+                + " 'Port': {'" + PORT0 + "': {'new': {'name': 'p0', 'interfaces': ['set', [['uuid', '" + IFACE0
+                + "'], ['uuid', '" + IFACE1 + "']]]}}},"
+                + " 'Interface': {'" + IFACE0 + "': {'new': {'name': 'i0', 'external_ids':"
+                + " ['map', [['iface-id', 'vm0']]]}}, '" + IFACE1 + "': {'new': {'name': 'i1'}}}}"), dbSchema);
+        ReplicaSnapshot snapshot = replica.snapshot();
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(ImmutableSet.of(BR0), snapshot.lookupUuids(bridgeNames, "br0"));
+        assertEquals(ImmutableSet.of(IFACE0), snapshot.lookupUuids(ifaceIds, "vm0"));
+        assertEquals(ImmutableSet.of(PORT0), snapshot.lookupUuids(portInterfaces, IFACE1));
+        assertSame(snapshot.getRow("Port", PORT0), snapshot.lookup(portInterfaces, IFACE0).iterator().next());
+        assertEquals(2, snapshot.getRows("Interface").size());
+
+        // rename the bridge, move the iface-id, delete an interface
+        replica.update(updates("{'Bridge': {'" + BR0 + "': {'old': {'name': 'br0'}, 'new': {'name': 'br1'}}},"
+                + " 'Port': {'" + PORT0 + "': {'old': {}, 'new': {'name': 'p0', 'interfaces': ['uuid', '" + IFACE1
+                + "']}}}, 'Interface': {'" + IFACE0 + "': {'old': {'name': 'i0'}},"
+                + " '" + IFACE1 + "': {'old': {}, 'new': {'name': 'i1', 'external_ids':"
+                + " ['map', [['iface-id', 'vm0']]]}}}}"), dbSchema);
+        ReplicaSnapshot next = replica.snapshot();
+        assertTrue(next.lookupUuids(bridgeNames, "br0").isEmpty());
+        assertEquals(ImmutableSet.of(BR0), next.lookupUuids(bridgeNames, "br1"));
+        assertEquals(ImmutableSet.of(IFACE1), next.lookupUuids(ifaceIds, "vm0"));
+        assertTrue(next.lookupUuids(portInterfaces, IFACE0).isEmpty());
+        assertNull(next.getRow("Interface", IFACE0));
+        assertEquals(2, notifiedVersions.size());
+        assertEquals(Long.valueOf(2), notifiedVersions.get(1));
+
+        // the previous snapshot is unchanged
+        assertEquals(ImmutableSet.of(BR0), snapshot.lookupUuids(bridgeNames, "br0"));
+        assertEquals(ImmutableSet.of(PORT0), snapshot.lookupUuids(portInterfaces, IFACE0));
+        assertEquals(2, snapshot.getRows("Interface").size());
+
+        replica.clear();
+        assertTrue(replica.snapshot().getRows("Bridge").isEmpty());
+        assertTrue(replica.snapshot().lookup(bridgeNames, "br1").isEmpty());
+    }
+
+    @Test
+    public void testUpdatesBeforeInitialRows() throws IOException {
+        TableUpdates deletion = updates("{'Bridge': {'" + BR0 + "': {'old': {'name': 'br0'}}}}");
+        replica.monitor(dbSchema, callback -> {
+            // the bridge is deleted before the caller gets the reply of the monitor request
+            callback.update(deletion, dbSchema);
+            assertTrue(notifiedVersions.isEmpty());
+            try {
+                return updates("{'Bridge': {'" + BR0 + "': {'new': {'name': 'br0'}}}}");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertNull(replica.snapshot().getRow("Bridge", BR0));
+        assertTrue(replica.snapshot().lookup(bridgeNames, "br0").isEmpty());
+        assertEquals(2, notifiedVersions.size());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private TableUpdates updates(String json) throws IOException {
+        Map<String, TableUpdate> updates = new HashMap<>();
+        mapper.readTree(json.replace('\'', '"')).fields().forEachRemaining(table -> updates.put(table.getKey(),
+                dbSchema.table(table.getKey(), GenericTableSchema.class).updatesFromJson(table.getValue())));
+        return new TableUpdates(updates);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.replica;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class PersistentHashMapTest {
+
+    @Test
+    public void testSameAsHashMap() {
+        Random random = new Random(42);
+        Map<Key, Integer> expected = new HashMap<>();
+        PersistentHashMap<Key, Integer> actual = PersistentHashMap.empty();
+        for (int i = 0; i < 20000; i++) {
+            // few hashes over many keys, so that the collisions are exercised too
+            Key key = new Key(random.nextInt(2000), random.nextInt(4));
+            PersistentHashMap<Key, Integer> previous = actual;
+            Map<Key, Integer> previousExpected = new HashMap<>(expected);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.without(key);
+            } else {
+                expected.put(key, i);
+                actual = actual.with(key, i);
+            }
+            assertEquals(expected.get(key), actual.get(key));
+            if (i % 1000 == 0) {
+                assertEquals(expected, actual);
+                // the previous version is unchanged
+                assertEquals(previousExpected, previous);
+            }
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), actual.size());
+
+        for (Key key : expected.keySet()) {
+            actual = actual.without(key);
+        }
+        assertEquals(0, actual.size());
+        assertEquals(0, actual.entrySet().stream().count());
+    }
+
+    @Test
+    public void testUnchanged() {
+        PersistentHashMap<String, String> map = PersistentHashMap.<String, String>empty().with("a", "b");
+        assertSame(map, map.with("a", "b"));
+        assertSame(map, map.without("c"));
+    }
+
+    private static final class Key {
+        private final int hash;
+        private final int id;
+
+        Key(int hash, int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).hash == hash && ((Key) obj).id == id;
+        }
+    }
+}
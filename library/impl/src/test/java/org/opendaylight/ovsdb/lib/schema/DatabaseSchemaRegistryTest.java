@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DatabaseSchemaRegistryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private JsonNode json;
+
+    @Before
+    public void setUp() throws IOException {
+        json = mapper.readTree(getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json"))
+                .get("result");
+    }
+
+    @Test
+    public void testRegister() {
+        DatabaseSchemaRegistry registry = new DatabaseSchemaRegistry();
+        DatabaseSchema schema = registry.register("Open_vSwitch", json);
+        assertSame(schema, registry.register("Open_vSwitch", json.deepCopy()));
+        assertTrue(schema.table("Bridge", GenericTableSchema.class).hasColumn("_uuid"));
+        assertSame(schema, registry.getKnownSchema("Open_vSwitch"));
+        assertNull(registry.getKnownSchema("hardware_vtep"));
+
+        ObjectNode other = json.deepCopy();
+        other.put("version", "1.0.0");
+        assertNotSame(schema, registry.register("Open_vSwitch", other));
+        assertNull(registry.getKnownSchema("Open_vSwitch"));
+    }
+
+    @Test
+    public void testPersistence() throws IOException {
+        DatabaseSchemaRegistry registry = new DatabaseSchemaRegistry();
+        registry.setDirectory(folder.getRoot().getPath());
+        registry.register("Open_vSwitch", json);
+        assertEquals(1, folder.getRoot().list().length);
+
+        DatabaseSchemaRegistry restarted = new DatabaseSchemaRegistry();
+        restarted.setDirectory(folder.getRoot().getPath());
+        DatabaseSchema schema = restarted.getKnownSchema("Open_vSwitch");
+        assertNotNull(schema);
+        assertEquals(json.get("version").asText(), schema.getVersion().toString());
+        assertSame(schema, restarted.register("Open_vSwitch", json));
+    }
+
+    @Test
+    public void testUnsafeFileName() throws IOException {
+        File dir = folder.newFolder("schemas");
+        DatabaseSchemaRegistry registry = new DatabaseSchemaRegistry();
+        registry.setDirectory(dir.getPath());
+        ObjectNode other = json.deepCopy();
+        other.put("version", "../../1.0.0");
+        // registered, but not written out of the directory, nor at all
+        assertNotNull(registry.register("../Open_vSwitch", json));
+        assertNotNull(registry.register("Open_vSwitch", other));
+        assertNotNull(registry.register("/tmp/Open_vSwitch", json));
+        assertEquals(0, dir.list().length);
+        assertEquals(1, folder.getRoot().list().length);
+    }
+}
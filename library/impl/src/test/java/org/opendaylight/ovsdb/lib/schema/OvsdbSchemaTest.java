@@ -9,12 +9,18 @@ package org.opendaylight.ovsdb.lib.schema;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStream;
 import org.junit.Test;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.notation.UUID;
 import org.opendaylight.ovsdb.lib.notation.Version;
 
 public class OvsdbSchemaTest {
@@ -36,4 +42,56 @@ public class OvsdbSchemaTest {
         assertNotNull(schema);
         assertEquals(Version.fromString("6.12.0"), schema.getVersion());
     }
+
+    /**
+     * Test that table updates read from the token stream are the same as the ones read from the tree.
+     */
+    @Test
+    public void testStreamingUpdates() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        DatabaseSchema schema = DatabaseSchema.fromJson("some",
+                mapper.readTree(OvsdbSchemaTest.class.getResourceAsStream("test_schema.json")).get("result"));
+        JsonNode updates = mapper.readTree(OvsdbSchemaTest.class.getResourceAsStream(
+                "/org/opendaylight/ovsdb/lib/message/monitor_response_sample.json"));
+
+        try (JsonParser parser = mapper.getFactory().createParser(OvsdbSchemaTest.class.getResourceAsStream(
+                "/org/opendaylight/ovsdb/lib/message/monitor_response_sample.json"))) {
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            int tables = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String tableName = parser.getCurrentName();
+                parser.nextToken();
+                GenericTableSchema table = schema.table(tableName, GenericTableSchema.class);
+                TableUpdate<GenericTableSchema> streamed = table.updatesFromJson(parser);
+                TableUpdate<GenericTableSchema> expected = table.updatesFromJson(updates.get(tableName));
+
+                assertEquals(expected.getRows().keySet(), streamed.getRows().keySet());
+                for (UUID uuid : expected.getRows().keySet()) {
+                    assertEquals(expected.getNew(uuid), streamed.getNew(uuid));
+                    assertEquals(expected.getOld(uuid), streamed.getOld(uuid));
+                }
+                tables++;
+            }
+            assertEquals(updates.size(), tables);
+        }
+    }
+
+    /**
+     * Test that the views of a table as another TableSchema class are created once.
+     */
+    @Test
+    public void testTableViews() throws IOException {
+        DatabaseSchema schema = DatabaseSchema.fromJson("some", new ObjectMapper().readTree(
+                OvsdbSchemaTest.class.getResourceAsStream("test_schema.json")).get("result"));
+        BridgeSchema bridge = schema.table("Bridge", BridgeSchema.class);
+        assertSame(bridge, schema.table("Bridge", BridgeSchema.class));
+        assertNotSame(bridge, schema.table("Port", BridgeSchema.class));
+        assertSame(schema.table("Bridge", GenericTableSchema.class).getColumnSchemas(), bridge.getColumnSchemas());
+    }
+
+    public static class BridgeSchema extends TableSchema<BridgeSchema> {
+        public BridgeSchema(TableSchema<?> tableSchema) {
+            super(tableSchema.getName(), tableSchema.getColumnSchemas());
+        }
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Map;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.notation.Row;
+
+public class StringCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testCanonicalize() {
+        StringCache cache = new StringCache(100);
+        assertEquals(128, cache.getSize());
+        String value = new String("vxlan");
+        assertSame(value, cache.canonicalize(value));
+        assertSame(value, cache.canonicalize(new String("vxlan")));
+        assertSame(value, cache.canonicalize("xvxlanx".toCharArray(), 1, 5));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2.0 / 3, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDecoding() throws Exception {
+        DatabaseSchema dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result"));
+        dbSchema.enableStringCache(256);
+        GenericTableSchema bridge = dbSchema.table("Bridge", GenericTableSchema.class);
+        ColumnSchema<GenericTableSchema, Map> externalIds = bridge.column("external_ids", Map.class);
+        ColumnSchema<GenericTableSchema, String> name = bridge.column("name", String.class);
+        String json = "{\"name\":\"br-int\",\"external_ids\":[\"map\",[[\"opendaylight-iid\",\"x\"]]]}";
+
+        Row<GenericTableSchema> first = bridge.createRow((ObjectNode) mapper.readTree(json));
+        Row<GenericTableSchema> second;
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            parser.nextToken();
+            second = bridge.createRow(parser);
+        }
+        String firstKey = (String) first.getColumn(externalIds).getData().keySet().iterator().next();
+        String secondKey = (String) second.getColumn(externalIds).getData().keySet().iterator().next();
+        assertEquals("opendaylight-iid", firstKey);
+        assertSame(firstKey, secondKey);
+        assertSame(first.getColumn(name).getData(), second.getColumn(name).getData());
+
+        // the schemas without a cache decode as before
+        DatabaseSchema other = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result"));
+        GenericTableSchema otherBridge = other.table("Bridge", GenericTableSchema.class);
+        assertNotSame(otherBridge.createRow((ObjectNode) mapper.readTree(json)).getColumn(name).getData(),
+                otherBridge.createRow((ObjectNode) mapper.readTree(json)).getColumn(name).getData());
+    }
+}
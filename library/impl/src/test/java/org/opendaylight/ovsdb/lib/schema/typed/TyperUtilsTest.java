@@ -9,14 +9,20 @@
 package org.opendaylight.ovsdb.lib.schema.typed;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.Set;
 import org.junit.Assert;
 import org.junit.Test;
 import org.opendaylight.ovsdb.lib.error.SchemaVersionMismatchException;
+import org.opendaylight.ovsdb.lib.notation.Column;
 import org.opendaylight.ovsdb.lib.notation.Version;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
@@ -38,6 +44,21 @@ public class TyperUtilsTest {
 
     }
 
+    @TypedTable(name = "Bridge", database = "Open_vSwitch")
+    public interface TestBridge extends TypedBaseTable<GenericTableSchema> {
+        @TypedColumn(name = "name", method = MethodType.GETDATA)
+        String getName();
+
+        @TypedColumn(name = "name", method = MethodType.SETDATA)
+        void setName(String name);
+
+        @TypedColumn(name = "name", method = MethodType.GETCOLUMN)
+        Column<GenericTableSchema, String> getNameColumn();
+
+        @TypedColumn(name = "datapath_id", method = MethodType.GETDATA, fromVersion = "99.0.0")
+        Set<String> getDatapathId();
+    }
+
     /**
      * Test that {@link TyperUtils#getTableSchema(DatabaseSchema, Class)} returns the appropriate schema when given a
      * table containing the appropriate schema, for a typed table (annotated).
@@ -162,6 +183,34 @@ public class TyperUtilsTest {
         // This check succeeds in the absence of an exception
     }
 
+    /**
+     * Test the methods of a typed row wrapper, which are resolved once per class and then dispatched.
+     */
+    @Test
+    public void testTypedRowWrapper() throws IOException {
+        DatabaseSchema dbSchema = DatabaseSchema.fromJson("Open_vSwitch", new ObjectMapper().readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result"));
+        TestBridge bridge = TyperUtils.getTypedRowWrapper(dbSchema, TestBridge.class);
+        assertNull(bridge.getName());
+        bridge.setName("br0");
+        assertEquals("br0", bridge.getName());
+        assertEquals("br0", bridge.getNameColumn().getData());
+        assertEquals("name", bridge.getNameColumn().getSchema().getName());
+        assertEquals(dbSchema.table("Bridge", GenericTableSchema.class), bridge.getSchema());
+
+        TestBridge other = TyperUtils.getTypedRowWrapper(dbSchema, TestBridge.class, bridge.getRow());
+        assertEquals("br0", other.getName());
+        assertEquals(bridge, other);
+        assertEquals(bridge.hashCode(), other.hashCode());
+        assertTrue(other.toString().startsWith("Bridge"));
+        try {
+            other.getDatapathId();
+            Assert.fail("Expected a version mismatch");
+        } catch (SchemaVersionMismatchException e) {
+            // expected, the column is not in the schema version
+        }
+    }
+
     /**
      * Call {@link TyperUtils#checkVersion(Version, Version, Version)}.
      *
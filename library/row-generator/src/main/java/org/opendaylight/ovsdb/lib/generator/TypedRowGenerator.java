@@ -0,0 +1,414 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.generator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.opendaylight.ovsdb.lib.schema.BaseType;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.ColumnType;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
+import org.opendaylight.ovsdb.lib.schema.typed.TypedRowCodec;
+import org.opendaylight.ovsdb.lib.schema.typed.TyperUtils;
+
+/**
+ * Generates concrete row classes from an OVSDB schema, as an alternative to the {@link TyperUtils} proxies
+ * of the annotated interfaces. For each table, a final class with a field per column, typed accessors,
+ * column name constants, and methods reading and writing the JSON encoding of the row with
+ * {@link TypedRowCodec}, or converting a {@code Row} of the generic schema, is generated.
+ *
+ * <p>Scalar columns are represented by their value, columns of which the number of values varies (including
+ * optional scalars) by a {@code Set}, and key-value columns by a {@code Map}, like in the generic rows.
+ * Integers are {@code Long}s and reals {@code Double}s. Columns which were not set are not written.
+ *
+ * <p>The generator is only needed to build, and is kept out of the library bundle; the generated classes only
+ * depend on the library. Usage, e.g. from the generate-sources phase of a build:
+ * <pre>
+ * java TypedRowGenerator &lt;schema file&gt; &lt;package&gt; &lt;output directory&gt;
+ * </pre>
+ * The schema file is either the schema itself (.ovsschema) or a get_schema reply.
+ */
+public final class TypedRowGenerator {
+
+    private static final String CLASS_SUFFIX = "Row";
+    private static final String CODEC = "TypedRowCodec";
+    private static final Set<String> KEYWORDS = ImmutableSet.of("abstract", "assert", "boolean", "break", "byte",
+            "case", "catch", "char", "class", "const", "continue", "default", "do", "double", "else", "enum",
+            "extends", "final", "finally", "float", "for", "goto", "if", "implements", "import", "instanceof", "int",
+            "interface", "long", "native", "new", "package", "private", "protected", "public", "return", "short",
+            "static", "strictfp", "super", "switch", "synchronized", "this", "throw", "throws", "transient", "try",
+            "void", "volatile", "while", "true", "false", "null");
+    // Names used by the generated code itself
+    private static final Set<String> RESERVED_FIELDS = ImmutableSet.of("presentColumns", "row", "result");
+    private static final Set<String> RESERVED_CONSTANTS = ImmutableSet.of("TABLE_NAME", "UUID");
+
+    private final DatabaseSchema dbSchema;
+    private final String packageName;
+
+    public TypedRowGenerator(DatabaseSchema dbSchema, String packageName) {
+        this.dbSchema = dbSchema;
+        this.packageName = packageName;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: TypedRowGenerator <schema file> <package> <output directory>");
+        }
+        JsonNode json = new ObjectMapper().readTree(new File(args[0]));
+        if (json.has("result")) {
+            json = json.get("result");
+        }
+        DatabaseSchema dbSchema = DatabaseSchema.fromJson(json.path("name").asText(), json);
+        dbSchema.populateInternallyGeneratedColumns();
+        new TypedRowGenerator(dbSchema, args[1]).generate(Paths.get(args[2]));
+    }
+
+    /**
+     * Writes the sources of the row classes of all the tables, in the directory of the package under the
+     * given source root.
+     */
+    public void generate(Path sourceRoot) throws IOException {
+        Path directory = sourceRoot.resolve(packageName.replace('.', File.separatorChar));
+        Files.createDirectories(directory);
+        for (String tableName : dbSchema.getTables()) {
+            Files.write(directory.resolve(className(tableName) + ".java"),
+                    generate(tableName).getBytes(UTF_8));
+        }
+    }
+
+    /**
+     * Returns the name of the class generated for a table, e.g. OpenVSwitchRow for Open_vSwitch.
+     */
+    public static String className(String tableName) {
+        StringBuilder name = new StringBuilder();
+        for (String part : tableName.split("_")) {
+            if (!part.isEmpty()) {
+                name.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+            }
+        }
+        return name.append(CLASS_SUFFIX).toString();
+    }
+
+    /**
+     * Returns the source of the class generated for a table.
+     */
+    public String generate(String tableName) {
+        TableSchema<?> table = dbSchema.table(tableName, TableSchema.class);
+        List<GeneratedColumn> columns = new ArrayList<>();
+        // names taken by the columns before, e.g. "_uuid" and "uuid" of hardware_vtep both map to uuid
+        Set<String> fields = new HashSet<>();
+        Set<String> constants = new HashSet<>();
+        for (Map.Entry<String, ColumnSchema> column : new TreeMap<>(table.getColumnSchemas()).entrySet()) {
+            columns.add(new GeneratedColumn(columns.size(), column.getKey(), column.getValue().getType(), fields,
+                    constants));
+        }
+        String className = className(tableName);
+        Source src = new Source();
+
+        src.line("/*");
+        src.line(" * Generated by TypedRowGenerator from the " + dbSchema.getName() + " schema, version "
+                + dbSchema.getVersion() + ". Do not edit.");
+        src.line(" */");
+        src.line("package " + packageName + ";");
+        src.line("");
+        src.line("import com.fasterxml.jackson.core.JsonGenerator;");
+        src.line("import com.fasterxml.jackson.core.JsonParseException;");
+        src.line("import com.fasterxml.jackson.core.JsonParser;");
+        src.line("import com.fasterxml.jackson.core.JsonToken;");
+        src.line("import java.io.IOException;");
+        src.line("import java.util.Map;");
+        src.line("import java.util.Set;");
+        src.line("import org.opendaylight.ovsdb.lib.notation.Column;");
+        src.line("import org.opendaylight.ovsdb.lib.notation.Row;");
+        src.line("import org.opendaylight.ovsdb.lib.notation.UUID;");
+        src.line("import org.opendaylight.ovsdb.lib.schema.typed." + CODEC + ";");
+        src.line("");
+        src.line("/**");
+        src.line(" * Row of the " + tableName + " table.");
+        src.line(" */");
+        src.line("public final class " + className + " {");
+        src.line("");
+        src.line("    public static final String TABLE_NAME = \"" + tableName + "\";");
+        for (GeneratedColumn column : columns) {
+            src.line("    public static final String " + column.constant + " = \"" + column.name + "\";");
+        }
+        src.line("");
+        src.line("    // Columns which were set, by index");
+        src.line("    private final long[] presentColumns = new long[" + ((columns.size() + 63) / 64) + "];");
+        for (GeneratedColumn column : columns) {
+            src.line("    private " + column.javaType + " " + column.field + ";");
+        }
+
+        for (GeneratedColumn column : columns) {
+            src.line("");
+            src.line("    public " + column.javaType + " get" + column.accessor + "() {");
+            src.line("        return " + column.field + ";");
+            src.line("    }");
+            src.line("");
+            src.line("    public " + className + " set" + column.accessor + "(" + column.javaType + " value) {");
+            src.line("        this." + column.field + " = value;");
+            src.line("        presentColumns[" + column.word() + "] |= " + column.bit() + ";");
+            src.line("        return this;");
+            src.line("    }");
+        }
+
+        src.line("");
+        src.line("    /**");
+        src.line("     * Returns whether a column was set, by its name.");
+        src.line("     */");
+        src.line("    public boolean isSet(String column) {");
+        src.line("        switch (column) {");
+        for (GeneratedColumn column : columns) {
+            src.line("            case " + column.constant + ":");
+            src.line("                return (presentColumns[" + column.word() + "] & " + column.bit() + ") != 0;");
+        }
+        src.line("            default:");
+        src.line("                return false;");
+        src.line("        }");
+        src.line("    }");
+
+        src.line("");
+        src.line("    /**");
+        src.line("     * Reads a row from its JSON encoding; the parser must be on the start of the row object,");
+        src.line("     * and is left on its end. Unknown columns are skipped.");
+        src.line("     */");
+        src.line("    public static " + className + " readJson(JsonParser parser) throws IOException {");
+        src.line("        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {");
+        src.line("            throw new JsonParseException(parser, \"Expected a row but was \""
+                + " + parser.getCurrentToken());");
+        src.line("        }");
+        src.line("        " + className + " row = new " + className + "();");
+        src.line("        while (parser.nextToken() == JsonToken.FIELD_NAME) {");
+        src.line("            String column = parser.getCurrentName();");
+        src.line("            parser.nextToken();");
+        src.line("            switch (column) {");
+        for (GeneratedColumn column : columns) {
+            src.line("                case " + column.constant + ":");
+            src.line("                    row.set" + column.accessor + "(" + column.readExpression() + ");");
+            src.line("                    break;");
+        }
+        src.line("                default:");
+        src.line("                    parser.skipChildren();");
+        src.line("                    break;");
+        src.line("            }");
+        src.line("        }");
+        src.line("        return row;");
+        src.line("    }");
+
+        src.line("");
+        src.line("    /**");
+        src.line("     * Writes the columns which were set, except the internal ones (_uuid, _version), as a row");
+        src.line("     * object.");
+        src.line("     */");
+        src.line("    public void writeJson(JsonGenerator generator) throws IOException {");
+        src.line("        generator.writeStartObject();");
+        for (GeneratedColumn column : columns) {
+            if (column.name.startsWith("_")) {
+                continue;
+            }
+            src.line("        if ((presentColumns[" + column.word() + "] & " + column.bit() + ") != 0) {");
+            src.line("            generator.writeFieldName(" + column.constant + ");");
+            src.line("            " + column.writeStatement());
+            src.line("        }");
+        }
+        src.line("        generator.writeEndObject();");
+        src.line("    }");
+
+        src.line("");
+        src.line("    /**");
+        src.line("     * Converts a row of the generic schema.");
+        src.line("     */");
+        src.line("    @SuppressWarnings(\"unchecked\")");
+        src.line("    public static " + className + " fromRow(Row<?> row) {");
+        src.line("        " + className + " result = new " + className + "();");
+        src.line("        for (Column<?, ?> column : row.getColumns()) {");
+        src.line("            switch (column.getSchema().getName()) {");
+        for (GeneratedColumn column : columns) {
+            src.line("                case " + column.constant + ":");
+            src.line("                    result.set" + column.accessor + "((" + column.javaType
+                    + ") column.getData());");
+            src.line("                    break;");
+        }
+        src.line("                default:");
+        src.line("                    break;");
+        src.line("            }");
+        src.line("        }");
+        src.line("        return result;");
+        src.line("    }");
+
+        src.line("");
+        src.line("    @Override");
+        src.line("    public String toString() {");
+        src.line("        StringBuilder builder = new StringBuilder(\"" + className + " [\");");
+        for (GeneratedColumn column : columns) {
+            src.line("        if ((presentColumns[" + column.word() + "] & " + column.bit() + ") != 0) {");
+            src.line("            builder.append(" + column.constant + ").append('=').append(" + column.field
+                    + ").append(' ');");
+            src.line("        }");
+        }
+        src.line("        return builder.append(']').toString();");
+        src.line("    }");
+        src.line("}");
+        return src.toString();
+    }
+
+    // Registers a name, with a suffix if it is reserved or taken by another column
+    private static String unique(String name, Set<String> reserved, Set<String> taken, String suffix) {
+        String unique = reserved.contains(name) ? name + suffix : name;
+        while (!taken.add(unique)) {
+            unique += suffix;
+        }
+        return unique;
+    }
+
+    private static String camelCase(String name) {
+        StringBuilder camel = new StringBuilder();
+        boolean upper = false;
+        for (char ch : name.toCharArray()) {
+            if (ch == '_' || ch == '-' || ch == ':') {
+                upper = camel.length() > 0;
+            } else {
+                camel.append(upper ? Character.toUpperCase(ch) : ch);
+                upper = false;
+            }
+        }
+        // fields start in lower case, so that they never clash with the constants, e.g. MAC becomes mac
+        int upperPrefix = 0;
+        while (upperPrefix < camel.length() && !Character.isLowerCase(camel.charAt(upperPrefix))) {
+            upperPrefix++;
+        }
+        int lowered = upperPrefix == camel.length() || upperPrefix <= 1 ? upperPrefix : upperPrefix - 1;
+        return camel.substring(0, lowered).toLowerCase(Locale.ROOT) + camel.substring(lowered);
+    }
+
+    private static final class GeneratedColumn {
+        private final int index;
+        private final String name;
+        private final String constant;
+        private final String field;
+        private final String accessor;
+        private final String javaType;
+        private final ColumnType type;
+
+        GeneratedColumn(int index, String name, ColumnType type, Set<String> fields, Set<String> constants) {
+            this.index = index;
+            this.name = name;
+            this.type = type;
+            this.constant = unique(name.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9_]", "_"), RESERVED_CONSTANTS,
+                    constants, "_COLUMN");
+            String camel = camelCase(name);
+            // the accessors follow the fields, so that e.g. getClass(), final in Object, is not generated
+            this.field = unique(camel, Sets.union(KEYWORDS, RESERVED_FIELDS), fields, "Column");
+            this.accessor = Character.toUpperCase(field.charAt(0)) + field.substring(1);
+            if (type instanceof ColumnType.KeyValuedColumnType) {
+                this.javaType = "Map<" + atomType(((ColumnType.KeyValuedColumnType) type).getKeyType()) + ", "
+                        + atomType(type.getBaseType()) + ">";
+            } else if (type.isMultiValued()) {
+                this.javaType = "Set<" + atomType(type.getBaseType()) + ">";
+            } else {
+                this.javaType = atomType(type.getBaseType());
+            }
+        }
+
+        String word() {
+            return Integer.toString(index / 64);
+        }
+
+        String bit() {
+            return "1L << " + index % 64;
+        }
+
+        String readExpression() {
+            if (type instanceof ColumnType.KeyValuedColumnType) {
+                return CODEC + ".readMap(parser, " + reader(((ColumnType.KeyValuedColumnType) type).getKeyType())
+                        + ", " + reader(type.getBaseType()) + ")";
+            } else if (type.isMultiValued()) {
+                return CODEC + ".readSet(parser, " + reader(type.getBaseType()) + ")";
+            }
+            return reader(type.getBaseType()) + ".read(parser)";
+        }
+
+        String writeStatement() {
+            if (type instanceof ColumnType.KeyValuedColumnType) {
+                return CODEC + ".writeMap(generator, " + field + ", "
+                        + writer(((ColumnType.KeyValuedColumnType) type).getKeyType()) + ", "
+                        + writer(type.getBaseType()) + ");";
+            } else if (type.isMultiValued()) {
+                return CODEC + ".writeSet(generator, " + field + ", " + writer(type.getBaseType()) + ");";
+            }
+            return writer(type.getBaseType()) + ".write(generator, " + field + ");";
+        }
+
+        private static String atomType(BaseType baseType) {
+            if (baseType instanceof BaseType.IntegerBaseType) {
+                return "Long";
+            } else if (baseType instanceof BaseType.RealBaseType) {
+                return "Double";
+            } else if (baseType instanceof BaseType.BooleanBaseType) {
+                return "Boolean";
+            } else if (baseType instanceof BaseType.UuidBaseType) {
+                return "UUID";
+            }
+            return "String";
+        }
+
+        private static String reader(BaseType baseType) {
+            String constant = atomConstant(baseType);
+            // UUID would clash with the UUID class in the codec
+            return CODEC + "." + ("UUID".equals(constant) ? "UUID_ATOM" : constant);
+        }
+
+        private static String writer(BaseType baseType) {
+            return CODEC + "." + atomConstant(baseType) + "_WRITER";
+        }
+
+        private static String atomConstant(BaseType baseType) {
+            if (baseType instanceof BaseType.IntegerBaseType) {
+                return "INTEGER";
+            } else if (baseType instanceof BaseType.RealBaseType) {
+                return "REAL";
+            } else if (baseType instanceof BaseType.BooleanBaseType) {
+                return "BOOLEAN";
+            } else if (baseType instanceof BaseType.UuidBaseType) {
+                return "UUID";
+            }
+            return "STRING";
+        }
+    }
+
+    private static final class Source {
+        private final StringBuilder builder = new StringBuilder();
+
+        void line(String line) {
+            builder.append(line).append('\n');
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2017 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+
+public class TypedRowGeneratorTest {
+
+    private static final String PACKAGE = "org.opendaylight.ovsdb.lib.generator.generated";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testClassName() {
+        assertEquals("OpenVSwitchRow", TypedRowGenerator.className("Open_vSwitch"));
+        assertEquals("PhysicalLocatorSetRow", TypedRowGenerator.className("Physical_Locator_Set"));
+    }
+
+    @Test
+    public void testGeneratedRow() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+
+        JsonNode json = new ObjectMapper().readTree(
+                getClass().getResourceAsStream("/org/opendaylight/ovsdb/lib/generator/test_schema.json")).get("result");
+        DatabaseSchema dbSchema = DatabaseSchema.fromJson("Open_vSwitch", json);
+        dbSchema.populateInternallyGeneratedColumns();
+        Path sources = folder.newFolder("sources").toPath();
+        new TypedRowGenerator(dbSchema, PACKAGE).generate(sources);
+
+        Path bridgeSource = sources.resolve(PACKAGE.replace('.', File.separatorChar)).resolve("BridgeRow.java");
+        assertTrue(Files.exists(bridgeSource));
+        File classes = folder.newFolder("classes");
+        assertEquals(0, compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+                "-d", classes.getPath(), bridgeSource.toString()));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes.toURI().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> bridgeRow = loader.loadClass(PACKAGE + ".BridgeRow");
+            String row = "{\"name\":\"br-int\","
+                    + "\"ports\":[\"set\",[[\"uuid\",\"a6ac1c09-d2c6-4a5e-aa6e-3e1eff0e4e0a\"]]],"
+                    + "\"external_ids\":[\"map\",[[\"owner\",\"odl\"]]],\"unknown\":[\"set\",[1,2]]}";
+            JsonParser parser = new JsonFactory().createParser(row);
+            parser.nextToken();
+            Object bridge = bridgeRow.getMethod("readJson", JsonParser.class).invoke(null, parser);
+
+            assertEquals("br-int", bridgeRow.getMethod("getName").invoke(bridge));
+            assertEquals(1, ((Set<?>) bridgeRow.getMethod("getPorts").invoke(bridge)).size());
+            assertEquals(Collections.singletonMap("owner", "odl"),
+                    bridgeRow.getMethod("getExternalIds").invoke(bridge));
+            assertTrue((Boolean) bridgeRow.getMethod("isSet", String.class).invoke(bridge, "ports"));
+            assertFalse((Boolean) bridgeRow.getMethod("isSet", String.class).invoke(bridge, "datapath_id"));
+
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+                bridgeRow.getMethod("writeJson", JsonGenerator.class).invoke(bridge, generator);
+            }
+            Map<String, JsonNode> written = fields(new ObjectMapper().readTree(writer.toString()));
+            Map<String, JsonNode> expected = fields(new ObjectMapper().readTree(row));
+            expected.remove("unknown");
+            assertEquals(expected, written);
+        }
+    }
+
+    /**
+     * Test that columns whose names map to the same Java names, like in the hardware_vtep schema, still get
+     * distinct fields, accessors and constants.
+     */
+    @Test
+    public void testNameClashes() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+
+        JsonNode json = new ObjectMapper().readTree(("{'name': 'hardware_vtep', 'version': '1.3.0', 'tables': {"
+                + "'Ucast_Macs_Remote': {'columns': {'MAC': {'type': 'string'}, 'uuid': {'type': 'uuid'},"
+                + " 'class': {'type': 'string'}}}}}").replace('\'', '"'));
+        DatabaseSchema dbSchema = DatabaseSchema.fromJson("hardware_vtep", json);
+        dbSchema.populateInternallyGeneratedColumns();
+        TypedRowGenerator generator = new TypedRowGenerator(dbSchema, PACKAGE);
+        String source = generator.generate("Ucast_Macs_Remote");
+        assertTrue(source.contains("private String mac;"));
+        assertTrue(source.contains("public UUID getUuidColumn()"));
+        assertTrue(source.contains("public String getClassColumn()"));
+        assertTrue(source.contains("public static final String UUID_COLUMN = \"uuid\";"));
+
+        Path sources = folder.newFolder("sources").toPath();
+        generator.generate(sources);
+        assertEquals(0, compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+                "-d", folder.newFolder("classes").getPath(), sources.resolve(PACKAGE.replace('.', File.separatorChar))
+                        .resolve("UcastMacsRemoteRow.java").toString()));
+    }
+
+    private static Map<String, JsonNode> fields(JsonNode node) {
+        Iterable<Map.Entry<String, JsonNode>> fields = node::fields;
+        return StreamSupport.stream(fields.spliterator(), false)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}